@@ -0,0 +1,98 @@
+package com.mohan.spring.AdvanceRestApi.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.mohan.spring.AdvanceRestApi.controller.EmployeeController;
+import com.mohan.spring.AdvanceRestApi.controller.EmployeeLinks;
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+
+// Per-request cost of the POST /save links: methodOn proxies (old) vs precomputed EmployeeLinks (new),
+// and a 100 row GET /getall page with links. Runs against a mock request bound to the benchmark thread.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LinkBuildingBenchmark {
+
+	EmployeeLinks employeeLinks;
+	Employee employee;
+	List<Employee> page;
+
+	@Setup
+	public void setUp() {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/employees/save");
+		request.setServerName("localhost");
+		request.setServerPort(8080);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+		employeeLinks = new EmployeeLinks();
+		employee = employee(42);
+		page = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			page.add(employee(i));
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Benchmark
+	public EntityModel<Employee> methodOnLinks() {
+		EntityModel<Employee> entityModel = EntityModel.of(employee);
+		entityModel.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(EmployeeController.class)
+				.getEmployee(employee.getId(), null)).withSelfRel());
+		entityModel.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(EmployeeController.class)
+				.deleteEmployee(employee.getId())).withRel("Delete"));
+		entityModel.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(EmployeeController.class)
+				.updateEmployee(employee.getId(), null, employee)).withRel("Update"));
+		entityModel.add(WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(EmployeeController.class)
+				.patchEmployee(employee.getId(), null, new HashMap<>())).withRel("Patch"));
+		return entityModel;
+	}
+
+	@Benchmark
+	public EntityModel<Employee> precomputedLinks() {
+		return employeeLinks.toModel(employee);
+	}
+
+	@Benchmark
+	public CollectionModel<EntityModel<Employee>> precomputedPageLinks() {
+		return employeeLinks.toCollectionModel(page);
+	}
+
+	private static Employee employee(int n) {
+		Employee employee = new Employee();
+		employee.setId(String.format("DEV2025-%03d", n));
+		employee.setName("Mohan");
+		employee.setSalary(35112.5);
+		employee.setDept("Developer");
+		employee.setGender("M");
+		employee.setEmail("mohan" + n + "@example.com");
+		return employee;
+	}
+}
@@ -0,0 +1,73 @@
+package com.mohan.spring.AdvanceRestApi.benchmark;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSnapshot;
+import com.mohan.spring.AdvanceRestApi.model.NameMatch;
+import com.mohan.spring.AdvanceRestApi.service.EmployeeNameIndex;
+
+// Top-10 fuzzy name search over generated employees (two-part names from syllables, so names repeat)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+public class NameIndexBenchmark {
+
+	private static final String[] SYLLABLES = { "mo", "han", "ra", "vi", "ku", "mar", "an", "ja", "li", "sh",
+			"pri", "ya", "de", "vi", "ka", "ran", "su", "re", "sh", "ni", "ta", "ar", "jun", "me", "ena" };
+
+	@Param({ "100000", "1000000" })
+	int employees;
+
+	@Param({ "mohan", "mohn", "kumar ravi", "anj" })
+	String query;
+
+	EmployeeNameIndex index;
+
+	@Setup
+	public void setUp() {
+		index = new EmployeeNameIndex(0.3);
+		Random random = new Random(42);
+		for (int i = 0; i < employees; i++) {
+			String first = word(random);
+			String last = word(random);
+			String id = String.format("DEV2025-%07d", i);
+			index.employeeChanged(null, new EmployeeSnapshot(id, capitalize(first) + " " + last, "Developer", "M",
+					50000.0, first + "." + last + i + "@example.com"));
+		}
+	}
+
+	@Benchmark
+	public List<NameMatch> search() {
+		return index.search(query, 10);
+	}
+
+	private static String word(Random random) {
+		StringBuilder word = new StringBuilder();
+		int parts = 2 + random.nextInt(2);
+		for (int p = 0; p < parts; p++) {
+			word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+		}
+		return word.toString();
+	}
+
+	private static String capitalize(String word) {
+		return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+	}
+}
@@ -0,0 +1,63 @@
+package com.mohan.spring.AdvanceRestApi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+
+// Jackson serialization of the bodies returned by GET /{id} and POST /save
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+	ObjectMapper objectMapper;
+	Employee employee;
+	EntityModel<Employee> entityModel;
+
+	@Setup
+	public void setUp() {
+		objectMapper = new ObjectMapper();
+		employee = new Employee();
+		employee.setId("DEV2025-042");
+		employee.setName("Mohan");
+		employee.setSalary(35112.5);
+		employee.setDept("Developer");
+		employee.setGender("M");
+		employee.setEmail("mohan@example.com");
+
+		String href = "http://localhost:8080/api/v1/employees/DEV2025-042";
+		entityModel = EntityModel.of(employee,
+				Link.of(href).withSelfRel(),
+				Link.of(href, "Delete"),
+				Link.of(href, "Update"),
+				Link.of(href, "Patch"));
+	}
+
+	@Benchmark
+	public byte[] employee() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(employee);
+	}
+
+	@Benchmark
+	public byte[] employeeEntityModel() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(entityModel);
+	}
+}
@@ -0,0 +1,86 @@
+package com.mohan.spring.AdvanceRestApi.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.mohan.spring.AdvanceRestApi.AdvanceRestApiApplication;
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+import com.mohan.spring.AdvanceRestApi.repository.EmployeeRepository;
+import com.mohan.spring.AdvanceRestApi.service.EmployeeService;
+
+// End-to-end EmployeeService calls against an embedded H2 database (no HTTP layer)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+	ConfigurableApplicationContext context;
+	EmployeeService employeeService;
+	EmployeeRepository employeeRepository;
+	String existingId;
+	final AtomicLong counter = new AtomicLong();
+
+	@Setup
+	public void setUp() {
+		SpringApplication application = new SpringApplication(AdvanceRestApiApplication.class);
+		application.setWebApplicationType(WebApplicationType.NONE);
+		context = application.run(
+				"--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+				"--logging.level.root=WARN",
+				"--spring.main.banner-mode=off");
+		employeeService = context.getBean(EmployeeService.class);
+		employeeRepository = context.getBean(EmployeeRepository.class);
+		existingId = employeeService.saveEmployeeData(newEmployee()).getId();
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	private Employee newEmployee() {
+		long n = counter.incrementAndGet();
+		Employee employee = new Employee();
+		employee.setName("Employee" + n);
+		employee.setSalary(45000.0);
+		employee.setDept("Developer");
+		employee.setGender("Male");
+		employee.setEmail("employee" + n + "@example.com");
+		return employee;
+	}
+
+	@Benchmark
+	public Employee saveEmployeeData() {
+		return employeeService.saveEmployeeData(newEmployee());
+	}
+
+	// Served from the lookup cache after the first call
+	@Benchmark
+	public Employee getEmployeeById() {
+		return employeeService.getEmployeeById(existingId);
+	}
+
+	// Same lookup straight from the database, for comparison with the cached path
+	@Benchmark
+	public Object findByIdUncached() {
+		return employeeRepository.findById(existingId).orElseThrow();
+	}
+}
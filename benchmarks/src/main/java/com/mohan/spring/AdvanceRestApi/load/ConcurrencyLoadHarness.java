@@ -0,0 +1,108 @@
+package com.mohan.spring.AdvanceRestApi.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator: N clients each send one request at a time
+ * for a fixed duration, then throughput, status counts and latency percentiles
+ * are printed.
+ *
+ * Compare execution modes by starting the application once normally and once
+ * with --spring.profiles.active=virtual (Java 21), then running e.g.
+ *
+ *   java -cp benchmarks/target/classes com.mohan.spring.AdvanceRestApi.load.ConcurrencyLoadHarness \
+ *        http://localhost:8080/api/v1/employees/count 2000 60
+ *
+ * Arguments: url [clients=2000] [seconds=60]. Several comma-separated URLs are
+ * used round-robin.
+ */
+public class ConcurrencyLoadHarness {
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 1) {
+			System.err.println("Usage: ConcurrencyLoadHarness <url[,url...]> [clients] [seconds]");
+			System.exit(1);
+		}
+		String[] urls = args[0].split(",");
+		int clients = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+
+		HttpClient http = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofSeconds(10))
+				.executor(Executors.newFixedThreadPool(16))
+				.build();
+		List<HttpRequest> requests = new ArrayList<>();
+		for (String url : urls) {
+			requests.add(HttpRequest.newBuilder(URI.create(url.trim())).timeout(Duration.ofSeconds(30)).GET().build());
+		}
+
+		AtomicLong ok = new AtomicLong();
+		AtomicLong rejected = new AtomicLong();
+		AtomicLong failed = new AtomicLong();
+		long[][] latencies = new long[clients][];
+		long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+		CountDownLatch done = new CountDownLatch(clients);
+		ExecutorService pool = Executors.newFixedThreadPool(clients);
+
+		for (int c = 0; c < clients; c++) {
+			int client = c;
+			pool.execute(() -> {
+				long[] samples = new long[1024];
+				int n = 0;
+				try {
+					while (System.nanoTime() < deadline) {
+						HttpRequest request = requests.get(n % requests.size());
+						long start = System.nanoTime();
+						try {
+							int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+							if (status == 503 || status == 429) {
+								rejected.incrementAndGet();
+							} else if (status < 400) {
+								ok.incrementAndGet();
+							} else {
+								failed.incrementAndGet();
+							}
+						} catch (Exception e) {
+							failed.incrementAndGet();
+						}
+						if (n == samples.length) {
+							samples = Arrays.copyOf(samples, n * 2);
+						}
+						samples[n++] = System.nanoTime() - start;
+					}
+				} finally {
+					latencies[client] = Arrays.copyOf(samples, n);
+					done.countDown();
+				}
+			});
+		}
+		done.await();
+		pool.shutdown();
+
+		long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+		System.out.printf("clients=%d duration=%ds requests=%d%n", clients, seconds, all.length);
+		System.out.printf("throughput=%.1f req/s ok=%d rejected=%d failed=%d%n",
+				(double) ok.get() / seconds, ok.get(), rejected.get(), failed.get());
+		for (double p : new double[] { 0.50, 0.90, 0.99, 0.999 }) {
+			System.out.printf("p%s=%.1f ms%n", p * 100, percentile(all, p) / 1e6);
+		}
+	}
+
+	private static double percentile(long[] sorted, double p) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+	}
+}
@@ -0,0 +1,159 @@
+package com.mohan.spring.AdvanceRestApi.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Per-endpoint latency of the EmployeeRepository finders and the bulk update
+ * and delete queries, to compare configuration profiles.
+ *
+ * Seeds employees through /bulk, then runs each scenario in turn with a fixed
+ * number of closed-loop clients and prints throughput and latency percentiles
+ * per scenario. Start the application once with the defaults and once with
+ * --spring.profiles.active=prod, and run against each:
+ *
+ *   java -cp benchmarks/target/classes com.mohan.spring.AdvanceRestApi.load.FinderLoadHarness \
+ *        http://localhost:8080 32 20 5000
+ *
+ * Arguments: baseUrl [clients=32] [secondsPerScenario=20] [seedRows=5000].
+ */
+public class FinderLoadHarness {
+
+	private static final Pattern ID_AND_NAME = Pattern.compile("\"id\":\"([^\"]+)\",\"name\":\"([^\"]+)\"");
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 1) {
+			System.err.println("Usage: FinderLoadHarness <baseUrl> [clients] [secondsPerScenario] [seedRows]");
+			System.exit(1);
+		}
+		String api = args[0].replaceAll("/$", "") + "/api/v1/employees";
+		int clients = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+		int seedRows = args.length > 3 ? Integer.parseInt(args[3]) : 5000;
+
+		HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+		Matcher seeded = ID_AND_NAME.matcher(seed(http, api, seedRows));
+		if (!seeded.find()) {
+			throw new IllegalStateException("Seeding returned no employees");
+		}
+		String id = seeded.group(1);
+		String name = seeded.group(2);
+
+		Map<String, HttpRequest> scenarios = new LinkedHashMap<>();
+		scenarios.put("findByGender", get(api + "/findByGender?gender=M&size=50"));
+		scenarios.put("findByDeptAndGender", get(api + "/findByDeptAndGender?dept=Developer&gender=F&size=50"));
+		scenarios.put("findByDeptOrGender", get(api + "/findByDeptOrGender?dept=HR&gender=F&size=50"));
+		scenarios.put("findBySalaryBetween", get(api + "/search2?minSalary=30000&maxSalary=40000&size=50"));
+		scenarios.put("findBySalaryGreaterThan", get(api + "/findBySalaryGreaterThan?salary=90000&size=50"));
+		scenarios.put("findBySalaryLessThan", get(api + "/findBySalaryLessThan?salary=25000&size=50"));
+		scenarios.put("findNameAndSalaryByDept", get(api + "/nameandsalarybydept?dept=Tester"));
+		scenarios.put("search (dept IN, sorted)", get(api + "/search?dept=HR&dept=Tester&sort=salary,desc&size=50"));
+		// Same old and new name: the UPDATE matches and runs every time
+		scenarios.put("updateEmployeeNameByIdAndOldName", send("PATCH",
+				api + "/" + id + "/update-name?oldName=" + name + "&newName=" + name));
+		// Nobody in this dept: measures the indexed DELETE without emptying the table
+		scenarios.put("deleteByDeptAndGender", send("DELETE", api + "/delbydeptgender?dept=Nobody&gender=M"));
+		scenarios.put("increaseSalaryByDept", send("PATCH", api + "/increase-salary?dept=Tester&percent=0.01"));
+
+		System.out.printf("clients=%d seconds/scenario=%d seeded=%d%n", clients, seconds, seedRows);
+		System.out.printf("%-34s %10s %8s %8s %8s %8s%n", "scenario", "req/s", "p50 ms", "p90 ms", "p99 ms", "errors");
+		for (Map.Entry<String, HttpRequest> scenario : scenarios.entrySet()) {
+			run(http, scenario.getKey(), scenario.getValue(), clients, seconds);
+		}
+	}
+
+	private static String seed(HttpClient http, String api, int rows) throws Exception {
+		String[] depts = { "HR", "Developer", "Tester" };
+		String run = Long.toString(System.currentTimeMillis(), 36);
+		StringBuilder body = new StringBuilder("[");
+		for (int i = 0; i < rows; i++) {
+			body.append(i > 0 ? "," : "")
+				.append("{\"name\":\"Load").append(i)
+				.append("\",\"salary\":").append(20000 + (i * 37) % 80000)
+				.append(",\"dept\":\"").append(depts[i % depts.length])
+				.append("\",\"gender\":\"").append(i % 2 == 0 ? "M" : "F")
+				.append("\",\"email\":\"load").append(i).append('.').append(run).append("@example.com\"}");
+		}
+		body.append(']');
+		HttpRequest request = HttpRequest.newBuilder(URI.create(api + "/bulk"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+				.build();
+		HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() != 201) {
+			throw new IllegalStateException("Seeding failed: " + response.statusCode() + " " + response.body());
+		}
+		return response.body();
+	}
+
+	private static void run(HttpClient http, String name, HttpRequest request, int clients, int seconds) throws InterruptedException {
+		AtomicLong errors = new AtomicLong();
+		long[][] latencies = new long[clients][];
+		long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+		CountDownLatch done = new CountDownLatch(clients);
+		ExecutorService pool = Executors.newFixedThreadPool(clients);
+
+		for (int c = 0; c < clients; c++) {
+			int client = c;
+			pool.execute(() -> {
+				long[] samples = new long[1024];
+				int n = 0;
+				try {
+					while (System.nanoTime() < deadline) {
+						long start = System.nanoTime();
+						try {
+							// 404 is the expected answer of the empty-dept delete
+							int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+							if (status >= 400 && status != 404) {
+								errors.incrementAndGet();
+							}
+						} catch (Exception e) {
+							errors.incrementAndGet();
+						}
+						if (n == samples.length) {
+							samples = Arrays.copyOf(samples, n * 2);
+						}
+						samples[n++] = System.nanoTime() - start;
+					}
+				} finally {
+					latencies[client] = Arrays.copyOf(samples, n);
+					done.countDown();
+				}
+			});
+		}
+		done.await();
+		pool.shutdown();
+
+		long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+		System.out.printf("%-34s %10.1f %8.2f %8.2f %8.2f %8d%n", name, (double) all.length / seconds,
+				percentile(all, 0.50) / 1e6, percentile(all, 0.90) / 1e6, percentile(all, 0.99) / 1e6, errors.get());
+	}
+
+	private static HttpRequest get(String url) {
+		return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+	}
+
+	private static HttpRequest send(String method, String url) {
+		return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30))
+				.method(method, HttpRequest.BodyPublishers.noBody()).build();
+	}
+
+	private static double percentile(long[] sorted, double p) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)];
+	}
+}
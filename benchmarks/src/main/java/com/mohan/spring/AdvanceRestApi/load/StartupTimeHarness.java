@@ -0,0 +1,159 @@
+package com.mohan.spring.AdvanceRestApi.load;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup time and time to first request of the application, to compare
+ * packagings and catch startup regressions.
+ *
+ * Starts the given command the given number of times, each on a free port,
+ * and times from process start until the first real API request answers 200.
+ * Also prints what Spring Boot logs as its startup time ("Started ... in")
+ * and the JVM's own process uptime at that point. The command gets
+ * --server.port=<port> appended, or replaces {port} where it appears:
+ *
+ *   java -cp benchmarks/target/classes com.mohan.spring.AdvanceRestApi.load.StartupTimeHarness \
+ *        5 0 java -jar target/AdvanceRestApi-0.0.1-SNAPSHOT-exec.jar
+ *
+ *   java -cp benchmarks/target/classes com.mohan.spring.AdvanceRestApi.load.StartupTimeHarness \
+ *        5 3000 docker run --rm -p {port}:8080 advancerestapi
+ *
+ * Arguments: runs maxMillis command...; with maxMillis > 0 the harness exits with
+ * status 2 when the median time to first request is above it.
+ */
+public class StartupTimeHarness {
+
+	// A finder through MVC, JPA, Jackson and HATEOAS: none of it is loaded before the first request
+	private static final String FIRST_REQUEST = "/api/v1/employees/search?dept=HR&size=20";
+	private static final Duration TIMEOUT = Duration.ofMinutes(2);
+	private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([\\d.]+) seconds \\(process running for ([\\d.]+)\\)");
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 3) {
+			System.err.println("Usage: StartupTimeHarness <runs> <maxMillis|0> <command...>");
+			System.exit(1);
+		}
+		int runs = Integer.parseInt(args[0]);
+		long maxMillis = Long.parseLong(args[1]);
+		List<String> command = Arrays.asList(args).subList(2, args.length);
+
+		HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+		long[] started = new long[runs];
+		long[] process = new long[runs];
+		long[] firstRequest = new long[runs];
+		System.out.printf("command: %s%n", String.join(" ", command));
+		System.out.printf("%-6s %12s %12s %18s%n", "run", "started ms", "process ms", "first request ms");
+		for (int i = 0; i < runs; i++) {
+			long[] run = run(http, command);
+			started[i] = run[0];
+			process[i] = run[1];
+			firstRequest[i] = run[2];
+			System.out.printf("%-6d %12d %12d %18d%n", i + 1, started[i], process[i], firstRequest[i]);
+		}
+		System.out.printf("%-6s %12d %12d %18d%n", "median", median(started), median(process), median(firstRequest));
+
+		if (maxMillis > 0 && median(firstRequest) > maxMillis) {
+			System.err.printf("Median time to first request %d ms is above the %d ms budget%n", median(firstRequest), maxMillis);
+			System.exit(2);
+		}
+	}
+
+	// Spring's startup time, JVM uptime at that point and time to first request, in ms (-1 when not logged)
+	private static long[] run(HttpClient http, List<String> template) throws Exception {
+		int port = freePort();
+		List<String> command = new ArrayList<>();
+		for (String arg : template) {
+			command.add(arg.replace("{port}", Integer.toString(port)));
+		}
+		if (!String.join(" ", template).contains("{port}")) {
+			command.add("--server.port=" + port);
+		}
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + FIRST_REQUEST))
+				.timeout(Duration.ofSeconds(30)).GET().build();
+
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		String[] startedLine = new String[1];
+		Thread reader = new Thread(() -> {
+			try (BufferedReader log = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+				String line;
+				while ((line = log.readLine()) != null) {
+					if (startedLine[0] == null && STARTED.matcher(line).find()) {
+						startedLine[0] = line;
+					}
+				}
+			} catch (IOException e) {
+				// The process is gone
+			}
+		});
+		reader.setDaemon(true);
+		reader.start();
+
+		long firstRequest;
+		try {
+			firstRequest = awaitFirstResponse(http, request, process, start);
+		} finally {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+			}
+		}
+		reader.join(TimeUnit.SECONDS.toMillis(5));
+
+		Matcher started = startedLine[0] == null ? null : STARTED.matcher(startedLine[0]);
+		if (started == null || !started.find()) {
+			return new long[] { -1, -1, firstRequest };
+		}
+		return new long[] { Math.round(Double.parseDouble(started.group(1)) * 1000),
+				Math.round(Double.parseDouble(started.group(2)) * 1000), firstRequest };
+	}
+
+	private static long awaitFirstResponse(HttpClient http, HttpRequest request, Process process, long start) throws InterruptedException {
+		long deadline = start + TIMEOUT.toNanos();
+		while (true) {
+			if (!process.isAlive()) {
+				throw new IllegalStateException("Application exited with status " + process.exitValue()
+						+ " before answering " + FIRST_REQUEST);
+			}
+			if (System.nanoTime() > deadline) {
+				throw new IllegalStateException("No answer to " + FIRST_REQUEST + " within " + TIMEOUT);
+			}
+			try {
+				int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+				if (status != 200) {
+					throw new IllegalStateException("First request answered " + status);
+				}
+				return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			} catch (IOException e) {
+				// Not listening yet
+				Thread.sleep(10);
+			}
+		}
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private static long median(long[] values) {
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted[sorted.length / 2];
+	}
+}
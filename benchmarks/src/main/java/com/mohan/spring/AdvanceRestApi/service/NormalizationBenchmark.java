@@ -0,0 +1,76 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mohan.spring.AdvanceRestApi.config.NormalizationProperties;
+import com.mohan.spring.AdvanceRestApi.config.SalaryPolicyProperties;
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+
+// validateAndNormalize (name, dept regex, gender, salary) and the ID format, without Spring or a database.
+// Lives in the service package to reach the package-private methods.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class NormalizationBenchmark {
+
+	@Param({ "clean", "messy" })
+	String input;
+
+	EmployeeService service;
+	String name;
+	String dept;
+	String gender;
+
+	@Setup
+	public void setUp() {
+		service = new EmployeeService();
+		service.employeeNormalizer = new EmployeeNormalizer(new NormalizationProperties());
+		service.salaryPolicyEngine = new SalaryPolicyEngine();
+		service.salaryPolicyEngine.properties = new SalaryPolicyProperties();
+		if ("clean".equals(input)) {
+			name = "Mohan";
+			dept = "Developer";
+			gender = "M";
+		} else {
+			name = "  mOHAN kumar ";
+			dept = " dev\teloper ";
+			gender = " female ";
+		}
+	}
+
+	@Benchmark
+	public Employee validateAndNormalize() {
+		Employee employee = new Employee();
+		employee.setName(name);
+		employee.setDept(dept);
+		employee.setGender(gender);
+		employee.setSalary(45000.0);
+		return service.validateAndNormalize(employee);
+	}
+
+	// Department lookup alone: zero allocations for already-canonical input
+	@Benchmark
+	public String normalizeDept() {
+		return service.employeeNormalizer.normalizeDept(dept);
+	}
+
+	@Benchmark
+	public String formatId() {
+		return EmployeeIdAllocator.format("DEV", "2025", 42);
+	}
+}
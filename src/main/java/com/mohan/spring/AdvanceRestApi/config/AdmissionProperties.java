@@ -0,0 +1,43 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Adaptive admission control for the employee API (AdmissionControlFilter).
+ *
+ * The concurrency limit starts at initialLimit and moves between minLimit and
+ * maxLimit with GET /{id} latency. Point reads may use the whole limit; other
+ * requests only normalShare of it and bulk requests bulkShare, so point reads
+ * always find headroom while batch work runs. Each class waits at most its
+ * max-wait for a slot, then gets a 503 with Retry-After.
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.admission")
+public class AdmissionProperties {
+
+	private boolean enabled = true;
+
+	private int initialLimit = 20;
+	private int minLimit = 4;
+	private int maxLimit = 100;
+
+	// Latency rise over the baseline tolerated before the limit shrinks
+	private double tolerance = 2.0;
+
+	private double normalShare = 0.9;
+	private double bulkShare = 0.5;
+
+	private Duration criticalMaxWait = Duration.ofMillis(500);
+	private Duration normalMaxWait = Duration.ofMillis(100);
+	private Duration bulkMaxWait = Duration.ZERO;
+
+	// Requests allowed to wait at once, over all classes
+	private int maxQueue = 500;
+
+	private Duration retryAfter = Duration.ofSeconds(1);
+
+}
@@ -0,0 +1,21 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ChangeFeedConfig {
+
+    // Sends change feed batches; each subscriber has at most one task queued, so the queue is bounded by subscribers
+    @Bean
+    public ThreadPoolTaskExecutor changeFeedExecutor(@Value("${employee.changes.fan-out-threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("change-feed-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -0,0 +1,23 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class JobConfig {
+
+    // Bounded pool for bulk jobs: a full queue rejects new jobs instead of buffering them without limit
+    @Bean
+    public ThreadPoolTaskExecutor bulkJobExecutor(@Value("${employee.jobs.threads:2}") int threads,
+                                                  @Value("${employee.jobs.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bulk-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
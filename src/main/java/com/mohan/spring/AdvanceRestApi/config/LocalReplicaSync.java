@@ -0,0 +1,140 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mohan.spring.AdvanceRestApi.config.Replicas.Replica;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Stand-in replication for running with local H2 replicas (the "replicas" profile).
+ *
+ * Replays the primary's change feed outbox into each replica: a row event
+ * copies that employee's current row (or deletes it), a bulk event re-copies
+ * the department/gender it touched. The events themselves and the offset row
+ * are copied too, so the replica lag check sees the replica exactly as it
+ * would see a real one. Events are applied once they are local-sync.delay old,
+ * which simulates replication lag.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.replicas.local-sync.enabled", havingValue = "true")
+public class LocalReplicaSync {
+
+	private static final Logger logger = LoggerFactory.getLogger(LocalReplicaSync.class);
+
+    private final ScheduledExecutorService syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "local-replica-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    HikariDataSource primaryDataSource;
+
+    @Autowired
+    Replicas replicas;
+
+    @Autowired
+    ReplicaProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (Replica replica : replicas.all()) {
+            Flyway.configure().dataSource(replica.dataSource()).locations("classpath:db/migration").load().migrate();
+        }
+        long interval = properties.getLocalSync().getInterval().toMillis();
+        syncer.scheduleWithFixedDelay(this::syncAll, 0, interval, TimeUnit.MILLISECONDS);
+        logger.info("Local replica sync started for {} replicas, delay {}", replicas.all().size(),
+                properties.getLocalSync().getDelay());
+    }
+
+    @PreDestroy
+    public void stop() {
+        syncer.shutdownNow();
+    }
+
+    private void syncAll() {
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        for (Replica replica : replicas.all()) {
+            try {
+                sync(primary, replica);
+            } catch (RuntimeException e) {
+                logger.warn("Local sync of replica {} failed: {}", replica.name(), e.getMessage());
+            }
+        }
+    }
+
+    private void sync(JdbcTemplate primary, Replica replica) {
+        JdbcTemplate target = new JdbcTemplate(replica.dataSource());
+        long next = target.queryForObject("SELECT next_offset FROM employee_change_offset WHERE id = 1", Long.class);
+        List<Map<String, Object>> changes = primary.queryForList(
+                "SELECT * FROM employee_change WHERE change_offset >= ? AND created_at <= ? ORDER BY change_offset LIMIT ?",
+                next, LocalDateTime.now().minus(properties.getLocalSync().getDelay()), properties.getLocalSync().getBatchSize());
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(replica.dataSource()));
+        tx.executeWithoutResult(status -> {
+            for (Map<String, Object> change : changes) {
+                String id = (String) change.get("EMPLOYEE_ID");
+                if (id != null) {
+                    copyEmployees(primary, target, "id = ?", id);
+                } else {
+                    copyScope(primary, target, (String) change.get("DEPT"), (String) change.get("GENDER"));
+                }
+                insert(target, "employee_change", change);
+            }
+            long last = ((Number) changes.get(changes.size() - 1).get("CHANGE_OFFSET")).longValue();
+            target.update("UPDATE employee_change_offset SET next_offset = ? WHERE id = 1", last + 1);
+        });
+    }
+
+    private static void copyScope(JdbcTemplate primary, JdbcTemplate target, String dept, String gender) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (dept != null) {
+            conditions.add("dept = ?");
+            args.add(dept);
+        }
+        if (gender != null) {
+            conditions.add("gender = ?");
+            args.add(gender);
+        }
+        copyEmployees(primary, target, conditions.isEmpty() ? "1 = 1" : String.join(" AND ", conditions), args.toArray());
+    }
+
+    // Replace the replica's rows matching `where` with the primary's
+    private static void copyEmployees(JdbcTemplate primary, JdbcTemplate target, String where, Object... args) {
+        target.update("DELETE FROM employee WHERE " + where, args);
+        for (Map<String, Object> row : primary.queryForList("SELECT * FROM employee WHERE " + where, args)) {
+            target.update("DELETE FROM employee WHERE id = ?", row.get("ID"));
+            insert(target, "employee", row);
+        }
+    }
+
+    private static void insert(JdbcTemplate target, String table, Map<String, Object> row) {
+        String columns = String.join(", ", row.keySet());
+        String values = String.join(", ", row.keySet().stream().map(c -> "?").toList());
+        target.update("INSERT INTO " + table + " (" + columns + ") VALUES (" + values + ")", row.values().toArray());
+    }
+}
@@ -0,0 +1,35 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Accepted spellings of department and gender, mapped to the stored value.
+ *
+ * Keys are matched ignoring case and whitespace, so "dev eloper" matches
+ * DEVELOPER. Extra aliases can be added with e.g.
+ * employee.normalization.dept-aliases[QA]=Tester
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.normalization")
+public class NormalizationProperties {
+
+	private Map<String, String> deptAliases = new LinkedHashMap<>(Map.of(
+			"HR", "HR",
+			"DEVELOPER", "Developer",
+			"DEV", "Developer",
+			"TESTER", "Tester",
+			"TEST", "Tester"));
+
+	private Map<String, String> genderAliases = new LinkedHashMap<>(Map.of(
+			"MALE", "M",
+			"M", "M",
+			"FEMALE", "F",
+			"F", "F",
+			"OTHER", "Other"));
+
+}
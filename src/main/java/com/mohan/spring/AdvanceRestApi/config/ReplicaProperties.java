@@ -0,0 +1,54 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Read replicas for read-only EmployeeService methods (ReplicaRoutingConfig).
+ *
+ * Each url is one replica with its own pool; username and password default to
+ * the primary's. A replica is skipped while it lags the primary by more than
+ * maxLag, or has not applied the caller's last write. local-sync keeps a
+ * stand-in replica (a second H2 database) in step with the primary for local
+ * runs, e.g. employee.replicas.urls[0]=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.replicas")
+public class ReplicaProperties {
+
+	public enum Selection { ROUND_ROBIN, LEAST_LOADED }
+
+	private boolean enabled = false;
+
+	private List<String> urls = new ArrayList<>();
+	private String username;
+	private String password;
+	private int poolSize = 10;
+
+	private Selection selection = Selection.LEAST_LOADED;
+
+	private Duration maxLag = Duration.ofSeconds(5);
+	private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+	// How long a client's Employee-Read-After cookie keeps it off replicas that lack its write
+	private Duration readYourWritesWindow = Duration.ofSeconds(60);
+
+	private LocalSync localSync = new LocalSync();
+
+	@Data
+	public static class LocalSync {
+
+		private boolean enabled = false;
+		private Duration interval = Duration.ofMillis(100);
+		// Simulated replication lag: events are applied once they are this old
+		private Duration delay = Duration.ZERO;
+		private int batchSize = 500;
+
+	}
+
+}
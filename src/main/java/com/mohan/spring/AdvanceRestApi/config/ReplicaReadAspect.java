@@ -0,0 +1,42 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mohan.spring.AdvanceRestApi.service.ReadConsistency;
+
+/**
+ * Marks @Transactional(readOnly = true) service methods as replica reads.
+ *
+ * Only these (and cache loads) may use a replica. Spring Data runs every
+ * repository call outside a service transaction read-only too, including the
+ * change feed, job status and lag checks, which must see the primary.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "employee.replicas.enabled", havingValue = "true")
+public class ReplicaReadAspect {
+
+    private final ReadConsistency readConsistency;
+
+    public ReplicaReadAspect(ReadConsistency readConsistency) {
+        this.readConsistency = readConsistency;
+    }
+
+    @Around("within(com.mohan.spring.AdvanceRestApi.service..*) && @annotation(transactional)")
+    public Object replicaRead(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
+        if (!transactional.readOnly()) {
+            return joinPoint.proceed();
+        }
+        Long previous = readConsistency.enterReplicaRead(false);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            readConsistency.exitReplicaRead(previous);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.mohan.spring.AdvanceRestApi.service.ReadConsistency;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read/write splitting, on with employee.replicas.enabled=true.
+ *
+ * The primary pool is built from spring.datasource.* as Boot would build it.
+ * JPA, Flyway and everything else get the routing DataSource, which hands out
+ * primary connections except for replica reads (see ReadConsistency).
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public Replicas replicas(HikariDataSource primaryDataSource, DataSourceProperties dataSourceProperties,
+                             ReplicaProperties properties, MeterRegistry registry) {
+        if (properties.getUrls().isEmpty()) {
+            throw new IllegalStateException("employee.replicas.enabled is set but employee.replicas.urls is empty");
+        }
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < properties.getUrls().size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + i);
+            config.setJdbcUrl(properties.getUrls().get(i));
+            config.setUsername(properties.getUsername() != null ? properties.getUsername() : dataSourceProperties.determineUsername());
+            config.setPassword(properties.getPassword() != null ? properties.getPassword() : dataSourceProperties.determinePassword());
+            config.setMaximumPoolSize(properties.getPoolSize());
+            config.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            // Same auto-commit as the primary, which Hibernate may have been told to rely on
+            config.setAutoCommit(primaryDataSource.isAutoCommit());
+            config.setReadOnly(true);
+            // A replica that is down at startup is only skipped, like one that goes down later
+            config.setInitializationFailTimeout(-1);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            pools.add(new HikariDataSource(config));
+        }
+        return new Replicas(primaryDataSource, pools, properties, registry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, Replicas replicas,
+                                 ReadConsistency readConsistency, MeterRegistry registry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas, readConsistency, registry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,73 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.mohan.spring.AdvanceRestApi.config.Replicas.Replica;
+import com.mohan.spring.AdvanceRestApi.service.ReadConsistency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends the connection of a read-only transaction inside a replica read to a
+ * replica, and everything else to the primary.
+ *
+ * The choice is made when the connection is first used, so this must sit
+ * behind a LazyConnectionDataSourceProxy: JPA transactions ask for their
+ * connection before the transaction is marked read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private final Replicas replicas;
+    private final ReadConsistency readConsistency;
+    private final Counter toPrimary;
+    private final Counter fallbacks;
+    private final Map<String, Counter> toReplica = new HashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, Replicas replicas, ReadConsistency readConsistency,
+                                    MeterRegistry registry) {
+        this.replicas = replicas;
+        this.readConsistency = readConsistency;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : replicas.all()) {
+            targets.put(replica.name(), replica.dataSource());
+            toReplica.put(replica.name(), routed(registry, replica.name(), "replica"));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        this.toPrimary = routed(registry, PRIMARY, "primary-only");
+        this.fallbacks = routed(registry, PRIMARY, "no-replica");
+    }
+
+    private static Counter routed(MeterRegistry registry, String target, String reason) {
+        return Counter.builder("employee.datasource.routed")
+                .description("Connections handed out, by target and reason")
+                .tag("target", target).tag("reason", reason).register(registry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long minOffset = readConsistency.replicaMinOffset();
+        if (minOffset == null || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            toPrimary.increment();
+            return PRIMARY;
+        }
+        Replica replica = replicas.select(minOffset);
+        if (replica == null) {
+            fallbacks.increment();
+            return PRIMARY;
+        }
+        toReplica.get(replica.name()).increment();
+        return replica.name();
+    }
+}
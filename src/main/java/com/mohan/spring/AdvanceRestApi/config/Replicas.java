@@ -0,0 +1,168 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.mohan.spring.AdvanceRestApi.config.ReplicaProperties.Selection;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The replica pools, how far each lags the primary, and which one serves a read.
+ *
+ * Lag is measured with the change feed outbox, which replicates like any other
+ * table: a replica whose employee_change_offset row says next_offset = n has
+ * applied every write up to offset n - 1. Its lag is the age of the oldest
+ * primary event it does not have yet. A background check refreshes both every
+ * lag-check-interval; a replica that fails the check is skipped until it
+ * passes again.
+ */
+public class Replicas implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(Replicas.class);
+
+    private static final String NEXT_OFFSET = "SELECT next_offset FROM employee_change_offset WHERE id = 1";
+    private static final String CREATED_AT = "SELECT created_at FROM employee_change WHERE change_offset = ?";
+
+    private final JdbcTemplate primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Selection selection;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService checker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "replica-lag-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public Replicas(DataSource primary, List<HikariDataSource> dataSources, ReplicaProperties properties,
+                    MeterRegistry registry) {
+        this.primary = new JdbcTemplate(primary);
+        this.selection = properties.getSelection();
+        this.maxLag = properties.getMaxLag();
+        for (HikariDataSource dataSource : dataSources) {
+            Replica replica = new Replica(dataSource.getPoolName(), dataSource);
+            replicas.add(replica);
+            Gauge.builder("employee.replica.lag", replica, r -> r.lagMillis / 1000.0)
+                 .description("Age of the oldest primary change the replica has not applied")
+                 .baseUnit("seconds").tag("replica", replica.name).register(registry);
+            Gauge.builder("employee.replica.available", replica, r -> r.available ? 1 : 0)
+                 .description("1 while the replica is reachable and within max-lag")
+                 .tag("replica", replica.name).register(registry);
+        }
+        long interval = properties.getLagCheckInterval().toMillis();
+        checker.scheduleWithFixedDelay(this::check, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public List<Replica> all() {
+        return replicas;
+    }
+
+    // A replica that is available and has applied minOffset; null sends the read to the primary
+    public Replica select(long minOffset) {
+        int n = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), n);
+        Replica best = null;
+        for (int i = 0; i < n; i++) {
+            Replica replica = replicas.get((start + i) % n);
+            if (!replica.available || replica.appliedOffset < minOffset) {
+                continue;
+            }
+            if (selection == Selection.ROUND_ROBIN) {
+                return replica;
+            }
+            if (best == null || replica.activeConnections() < best.activeConnections()) {
+                best = replica;
+            }
+        }
+        return best;
+    }
+
+    private void check() {
+        long primaryNext;
+        try {
+            primaryNext = primary.queryForObject(NEXT_OFFSET, Long.class);
+        } catch (RuntimeException e) {
+            logger.warn("Replica lag check could not read the primary offset: {}", e.getMessage());
+            return;
+        }
+        for (Replica replica : replicas) {
+            boolean wasAvailable = replica.available;
+            try {
+                long replicaNext = replica.jdbc.queryForObject(NEXT_OFFSET, Long.class);
+                replica.appliedOffset = replicaNext - 1;
+                replica.lagMillis = replicaNext >= primaryNext ? 0 : lagMillis(replicaNext);
+                replica.available = replica.lagMillis <= maxLag.toMillis();
+            } catch (RuntimeException e) {
+                replica.available = false;
+                if (wasAvailable) {
+                    logger.warn("Replica {} failed the lag check: {}", replica.name, e.getMessage());
+                }
+            }
+            if (wasAvailable != replica.available) {
+                logger.info("Replica {} is now {} (applied offset {}, lag {} ms)", replica.name,
+                        replica.available ? "available" : "unavailable", replica.appliedOffset, replica.lagMillis);
+            }
+        }
+    }
+
+    // Age of the first event the replica is missing; purged from the primary means it is hopelessly behind
+    private long lagMillis(long missingOffset) {
+        List<Timestamp> createdAt = primary.queryForList(CREATED_AT, Timestamp.class, missingOffset);
+        if (createdAt.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, Duration.between(createdAt.get(0).toLocalDateTime(), LocalDateTime.now()).toMillis());
+    }
+
+    @Override
+    public void close() {
+        checker.shutdownNow();
+        replicas.forEach(r -> r.dataSource.close());
+    }
+
+    public static final class Replica {
+
+        final String name;
+        final HikariDataSource dataSource;
+        final JdbcTemplate jdbc;
+        volatile boolean available;
+        volatile long appliedOffset = -1;
+        volatile long lagMillis;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.jdbc = new JdbcTemplate(dataSource);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        int activeConnections() {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            return pool == null ? 0 : pool.getActiveConnections();
+        }
+    }
+}
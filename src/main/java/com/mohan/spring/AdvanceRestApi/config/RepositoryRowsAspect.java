@@ -0,0 +1,64 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Rows returned (or changed, for @Modifying queries) per repository call, as the
+ * spring.data.repository.rows summary. Timings come from Boot's
+ * spring.data.repository.invocations timer, which uses the same repository and
+ * method tags. Streams are not counted because they are consumed after the call.
+ */
+@Aspect
+@Component
+public class RepositoryRowsAspect {
+
+    private final MeterRegistry registry;
+
+    public RepositoryRowsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @AfterReturning(pointcut = "this(org.springframework.data.repository.Repository)", returning = "result")
+    public void recordRows(JoinPoint joinPoint, Object result) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        long rows;
+        if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (result instanceof Slice<?> slice) {
+            rows = slice.getNumberOfElements();
+        } else if (result instanceof Optional<?> optional) {
+            rows = optional.isPresent() ? 1 : 0;
+        } else if (result instanceof Integer affected && method.isAnnotationPresent(Modifying.class)) {
+            rows = affected;
+        } else {
+            return;
+        }
+
+        DistributionSummary.builder("spring.data.repository.rows")
+                .description("Rows returned or changed per repository call")
+                .baseUnit("rows")
+                .tag("repository", repositoryName(joinPoint))
+                .tag("method", method.getName())
+                .register(registry)
+                .record(rows);
+    }
+
+    private static String repositoryName(JoinPoint joinPoint) {
+        Class<?>[] interfaces = AopProxyUtils.proxiedUserInterfaces(joinPoint.getThis());
+        return interfaces.length > 0 ? interfaces[0].getSimpleName() : joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+}
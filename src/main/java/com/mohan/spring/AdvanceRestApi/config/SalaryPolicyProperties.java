@@ -0,0 +1,32 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.mohan.spring.AdvanceRestApi.model.SalaryPolicy;
+import com.mohan.spring.AdvanceRestApi.model.SalaryRule;
+
+import lombok.Data;
+
+/**
+ * Salary policies.
+ *
+ * The onboarding policy is applied to every salary written through the API
+ * (10% bonus above 30000, then 5% PF and 30% tax). Revisions are named
+ * policies applied in bulk, e.g.
+ * employee.salary.revisions.annual.rules[0].percent=4
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.salary")
+public class SalaryPolicyProperties {
+
+	private SalaryPolicy onboarding = SalaryPolicy.of(
+			new SalaryRule("bonus", 30000.0, 10),
+			new SalaryRule("pf", null, -5),
+			new SalaryRule("tax", null, -30));
+
+	private Map<String, SalaryPolicy> revisions = new LinkedHashMap<>();
+
+}
@@ -0,0 +1,38 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// One pool per shard, in configuration order (the first is home)
+public class ShardDataSources implements AutoCloseable {
+
+    private final Map<String, HikariDataSource> pools;
+
+    public ShardDataSources(Map<String, HikariDataSource> pools) {
+        this.pools = Collections.unmodifiableMap(new LinkedHashMap<>(pools));
+    }
+
+    public Map<String, HikariDataSource> all() {
+        return pools;
+    }
+
+    public HikariDataSource get(String shard) {
+        HikariDataSource pool = pools.get(shard);
+        if (pool == null) {
+            throw new IllegalArgumentException("Unknown shard " + shard + ", configured: " + pools.keySet());
+        }
+        return pool;
+    }
+
+    public String home() {
+        return pools.keySet().iterator().next();
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
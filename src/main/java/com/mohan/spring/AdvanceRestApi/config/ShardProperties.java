@@ -0,0 +1,54 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Sharding of the employee store by id prefix (ShardingConfig, EmployeeShards).
+ *
+ * Each node is one database with its own pool; the first one is home. Username
+ * and password default to spring.datasource's. assignments places prefixes on
+ * shards the first time the application starts against an empty directory,
+ * e.g. employee.shards.assignments[DEV]=shard-b; after that the directory
+ * table is authoritative and changes only through moves.
+ */
+@Data
+@ConfigurationProperties(prefix = "employee.shards")
+public class ShardProperties {
+
+	private boolean enabled = false;
+
+	private List<Node> nodes = new ArrayList<>();
+	private String username;
+	private String password;
+	private int poolSize = 10;
+
+	private Map<String, String> assignments = new LinkedHashMap<>();
+
+	// Threads that query the shards in parallel for cross-shard reads
+	private int fanOutThreads = 8;
+
+	// How long a write waits for a prefix that is being moved before it gets a 503
+	private Duration moveWriteWait = Duration.ofSeconds(2);
+	// How long a move waits for writes in flight before it gives up
+	private Duration moveFreezeTimeout = Duration.ofSeconds(10);
+	private int moveChunkSize = 1000;
+	// How long a node stays registered without renewing its heartbeat; moves need it to be the only one
+	private Duration nodeLease = Duration.ofSeconds(30);
+
+	@Data
+	public static class Node {
+
+		private String name;
+		private String url;
+
+	}
+
+}
@@ -0,0 +1,82 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mohan.spring.AdvanceRestApi.service.EmployeeShards;
+import com.mohan.spring.AdvanceRestApi.service.ShardKey;
+
+/**
+ * Runs EmployeeService writes under the shard gates, and single-employee
+ * writes on the employee's shard.
+ *
+ * A write with a @ShardKey id holds its prefix's gate and runs routed to the
+ * prefix's shard; any other write holds every prefix's gate and routes its
+ * own work (EmployeeShards). Ordered just outside @Transactional (whose
+ * advisor is LOWEST_PRECEDENCE), so the gate is held, and the route kept,
+ * until the transaction has committed; not HIGHEST_PRECEDENCE, which would
+ * run ahead of the ExposeInvocationInterceptor that binding the
+ * @Transactional argument needs. The inserts
+ * are not @Transactional (ids are allocated outside any transaction) and take
+ * the gates through EmployeeShards.gated().
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@ConditionalOnProperty(name = "employee.shards.enabled", havingValue = "true")
+public class ShardRoutingAspect {
+
+    private final EmployeeShards shards;
+
+    public ShardRoutingAspect(EmployeeShards shards) {
+        this.shards = shards;
+    }
+
+    @Around("within(com.mohan.spring.AdvanceRestApi.service.EmployeeService) && @annotation(transactional)")
+    public Object route(ProceedingJoinPoint joinPoint, Transactional transactional) throws Throwable {
+        if (transactional.readOnly()) {
+            return joinPoint.proceed();
+        }
+        String id = shardKey(joinPoint);
+        List<Lock> gates = shards.acquire(id != null ? Set.of(EmployeeShards.prefixOf(id)) : shards.prefixes());
+        try {
+            if (id == null) {
+                return joinPoint.proceed();
+            }
+            String previous = shards.route(shards.shardOfId(id));
+            try {
+                return joinPoint.proceed();
+            } finally {
+                shards.restore(previous);
+            }
+        } finally {
+            shards.release(gates);
+        }
+    }
+
+    private static String shardKey(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Annotation[][] annotations = method.getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            for (Annotation annotation : annotations[i]) {
+                if (annotation instanceof ShardKey && joinPoint.getArgs()[i] instanceof String id) {
+                    return id.trim();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.mohan.spring.AdvanceRestApi.service.EmployeeShards;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hands out connections to the shard the current thread is routed to
+ * (EmployeeShards), or to the home shard.
+ *
+ * Like ReplicaRoutingDataSource this must sit behind a
+ * LazyConnectionDataSourceProxy, so the shard is chosen when a transaction
+ * first uses its connection rather than when it begins.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final String home;
+    private final Map<String, Counter> routed = new HashMap<>();
+
+    public ShardRoutingDataSource(ShardDataSources shards, MeterRegistry registry) {
+        this.home = shards.home();
+        Map<Object, Object> targets = new HashMap<>(shards.all());
+        shards.all().keySet().forEach(shard -> routed.put(shard, Counter.builder("employee.shard.connections")
+                .description("Connections handed out, by shard").tag("shard", shard).register(registry)));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(home));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String shard = EmployeeShards.currentShard();
+        String key = shard != null ? shard : home;
+        Counter counter = routed.get(key);
+        if (counter != null) {
+            counter.increment();
+        }
+        return key;
+    }
+}
@@ -0,0 +1,86 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.mohan.spring.AdvanceRestApi.config.ShardProperties.Node;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sharded employee store, on with employee.shards.enabled=true.
+ *
+ * One pool per employee.shards.nodes entry replaces spring.datasource.url.
+ * JPA, Flyway and everything else get the routing DataSource, which hands out
+ * home shard connections unless EmployeeShards routes the thread elsewhere.
+ * Boot's Flyway migrates the home shard; the others are migrated here, before
+ * anything can use them. Not combinable with read replicas or the change feed.
+ */
+@Configuration
+@ConditionalOnProperty(name = "employee.shards.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardDataSources shardDataSources(ShardProperties properties, ReplicaProperties replicaProperties,
+                                             DataSourceProperties dataSourceProperties, MeterRegistry registry,
+                                             @Value("${spring.datasource.hikari.connection-timeout:30000}") long connectionTimeout,
+                                             @Value("${employee.changes.enabled:true}") boolean changesEnabled,
+                                             @Value("${spring.datasource.hikari.auto-commit:true}") boolean autoCommit) {
+        if (replicaProperties.isEnabled()) {
+            throw new IllegalStateException("employee.shards.enabled and employee.replicas.enabled cannot both be set");
+        }
+        // Each shard's writes would land in that shard's outbox, while the feed only reads the home shard's
+        if (changesEnabled) {
+            throw new IllegalStateException("employee.shards.enabled needs employee.changes.enabled=false");
+        }
+        if (properties.getNodes().isEmpty()) {
+            throw new IllegalStateException("employee.shards.enabled is set but employee.shards.nodes is empty");
+        }
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        for (Node node : properties.getNodes()) {
+            if (node.getName() == null || node.getUrl() == null || pools.containsKey(node.getName())) {
+                throw new IllegalStateException("Every employee.shards.nodes entry needs a unique name and a url");
+            }
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("shard-" + node.getName());
+            config.setJdbcUrl(node.getUrl());
+            config.setUsername(properties.getUsername() != null ? properties.getUsername() : dataSourceProperties.determineUsername());
+            config.setPassword(properties.getPassword() != null ? properties.getPassword() : dataSourceProperties.determinePassword());
+            config.setMaximumPoolSize(properties.getPoolSize());
+            config.setConnectionTimeout(connectionTimeout);
+            // Same auto-commit as spring.datasource, which Hibernate may have been told to rely on
+            config.setAutoCommit(autoCommit);
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            pools.put(node.getName(), new HikariDataSource(config));
+        }
+        ShardDataSources shards = new ShardDataSources(pools);
+        pools.forEach((name, pool) -> {
+            if (!name.equals(shards.home())) {
+                Flyway.configure().dataSource(pool).locations("classpath:db/migration").load().migrate();
+            }
+        });
+        return shards;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources, MeterRegistry registry) {
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(shardDataSources, registry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
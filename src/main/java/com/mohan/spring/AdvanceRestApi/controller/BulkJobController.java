@@ -0,0 +1,73 @@
+package com.mohan.spring.AdvanceRestApi.controller;
+
+import java.net.URI;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mohan.spring.AdvanceRestApi.model.BulkJob;
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+import com.mohan.spring.AdvanceRestApi.service.BulkJobService;
+
+import jakarta.validation.Valid;
+
+// Asynchronous versions of /bulk, /deleteAll and /increase-salary: submit returns 202 + job id, then poll
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/v1/employees/jobs")
+public class BulkJobController {
+
+	private static final Logger logger = LoggerFactory.getLogger(BulkJobController.class);
+
+	@Autowired
+	BulkJobService bulkJobService;
+
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkJob> bulkSave(@RequestBody @Valid List<@Valid Employee> listEmployees) {
+        logger.info("Request to submit bulk save job, Count: {}", listEmployees.size());
+        return accepted(bulkJobService.submitBulkSave(listEmployees));
+    }
+
+    @PostMapping("/delete-all")
+    public ResponseEntity<BulkJob> deleteAll() {
+        logger.info("Request to submit delete-all job");
+        return accepted(bulkJobService.submitDeleteAll());
+    }
+
+    @PostMapping("/increase-salary")
+    public ResponseEntity<BulkJob> increaseSalary(@RequestParam("dept") String dept,
+                                                  @RequestParam("percent") double percent) {
+        logger.info("Request to submit salary increase job for dept {} by {}%", dept, percent);
+        return accepted(bulkJobService.submitIncreaseSalary(dept, percent));
+    }
+
+    // Status, rows processed/failed and throughput
+    @GetMapping("/{id}")
+    public ResponseEntity<BulkJob> getJob(@PathVariable("id") String id) {
+        return ResponseEntity.ok(bulkJobService.getJob(id));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<BulkJob> cancel(@PathVariable("id") String id) {
+        logger.info("Request to cancel job {}", id);
+        return ResponseEntity.accepted().body(bulkJobService.cancel(id));
+    }
+
+    private ResponseEntity<BulkJob> accepted(BulkJob job) {
+        return ResponseEntity.accepted()
+                             .location(URI.create("/api/v1/employees/jobs/" + job.getId()))
+                             .body(job);
+    }
+}
@@ -0,0 +1,48 @@
+package com.mohan.spring.AdvanceRestApi.controller;
+
+import com.mohan.spring.AdvanceRestApi.exception.BadRequestException;
+
+// Strong ETags derived from Employee.version, e.g. "3"
+final class ETags {
+
+	private ETags() {
+	}
+
+	static String of(Long version) {
+		return "\"" + version + "\"";
+	}
+
+	// If-None-Match: weak comparison against any listed tag, or "*"
+	static boolean noneMatchHits(String ifNoneMatch, Long version) {
+		if (ifNoneMatch == null || version == null) {
+			return false;
+		}
+		String current = of(version);
+		for (String tag : ifNoneMatch.split(",")) {
+			String t = tag.trim();
+			if (t.equals("*") || t.equals(current) || t.equals("W/" + current)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// If-Match: the expected version, null for "*" or no header, -1 when no strong tag can match
+	static Long expectedVersion(String ifMatch) {
+		if (ifMatch == null || ifMatch.trim().equals("*")) {
+			return null;
+		}
+		String t = ifMatch.trim();
+		if (t.contains(",")) {
+			throw new BadRequestException("If-Match supports a single ETag");
+		}
+		if (t.length() < 3 || !t.startsWith("\"") || !t.endsWith("\"")) {
+			return -1L;
+		}
+		try {
+			return Long.parseLong(t.substring(1, t.length() - 1));
+		} catch (NumberFormatException e) {
+			return -1L;
+		}
+	}
+}
@@ -0,0 +1,43 @@
+package com.mohan.spring.AdvanceRestApi.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import com.mohan.spring.AdvanceRestApi.service.EmployeeChangeFeed;
+
+// Change feed: every employee write as an ordered event. Resume with ?after=<offset>
+// (or Last-Event-ID, which SSE clients send on reconnect); without either only new events are sent.
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@ConditionalOnProperty(name = "employee.changes.enabled", havingValue = "true", matchIfMissing = true)
+@RequestMapping("/api/v1/employees/changes")
+public class EmployeeChangeController {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeController.class);
+
+	@Autowired
+	EmployeeChangeFeed changeFeed;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseBodyEmitter streamEvents(@RequestParam(required = false) Long after,
+                                            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        logger.info("Request to subscribe to employee changes (SSE) after {}", after != null ? after : lastEventId);
+        return changeFeed.subscribe(after != null ? after : lastEventId, true);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseBodyEmitter streamNdjson(@RequestParam(required = false) Long after) {
+        logger.info("Request to subscribe to employee changes (NDJSON) after {}", after);
+        return changeFeed.subscribe(after, false);
+    }
+}
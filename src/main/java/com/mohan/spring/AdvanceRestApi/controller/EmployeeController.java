@@ -1,32 +1,50 @@
 package com.mohan.spring.AdvanceRestApi.controller;
 
-import java.util.HashMap;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.hateoas.EntityModel;
-import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.mohan.spring.AdvanceRestApi.repository.EmployeeSpecifications;
+import com.mohan.spring.AdvanceRestApi.service.EmployeeImportService;
 import com.mohan.spring.AdvanceRestApi.service.EmployeeService;
+import com.mohan.spring.AdvanceRestApi.model.BatchItemResult;
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSearch;
+import com.mohan.spring.AdvanceRestApi.model.ImportSummary;
+import com.mohan.spring.AdvanceRestApi.model.PageCursor;
+import com.mohan.spring.AdvanceRestApi.model.SalaryRevisionResult;
+import com.mohan.spring.AdvanceRestApi.model.SalaryStats;
+import com.mohan.spring.AdvanceRestApi.model.SearchPage;
+import com.mohan.spring.AdvanceRestApi.model.NameMatch;
 import com.mohan.spring.AdvanceRestApi.model.NameSalaryDTO;
 import com.mohan.spring.AdvanceRestApi.controller.EmployeeController;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
 import com.mohan.spring.AdvanceRestApi.model.Employee;
@@ -37,11 +55,17 @@ import com.mohan.spring.AdvanceRestApi.model.Employee;
 @RequestMapping("/api/v1/employees")
 public class EmployeeController {
 
-	private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeController.class);
 	
 
 	@Autowired
 	EmployeeService employeeService;
+
+	@Autowired
+	EmployeeImportService employeeImportService;
+
+	@Autowired
+	EmployeeLinks employeeLinks;
 	
 	 // Save Employee with HATEOAS links
 	
@@ -50,79 +74,107 @@ public class EmployeeController {
         
         Employee savedEmployee = employeeService.saveEmployeeData(employee);
 
-        EntityModel<Employee> entityModel = EntityModel.of(savedEmployee);
-
-        entityModel.add(
-            WebMvcLinkBuilder.linkTo(
-                WebMvcLinkBuilder.methodOn(EmployeeController.class)
-                    .getEmployee(savedEmployee.getId())
-            ).withSelfRel()
-        );
-        entityModel.add(
-            WebMvcLinkBuilder.linkTo(
-                WebMvcLinkBuilder.methodOn(EmployeeController.class)
-                    .deleteEmployee(savedEmployee.getId())
-            ).withRel("Delete")
-        );
-        entityModel.add(
-            WebMvcLinkBuilder.linkTo(
-                WebMvcLinkBuilder.methodOn(EmployeeController.class)
-                    .updateEmployee(savedEmployee.getId(), savedEmployee)
-            ).withRel("Update")
-        );
-        entityModel.add(
-            WebMvcLinkBuilder.linkTo(
-                WebMvcLinkBuilder.methodOn(EmployeeController.class)
-                    .patchEmployee(savedEmployee.getId(), new HashMap<>())
-            ).withRel("Patch")
-        );
+        EntityModel<Employee> entityModel = employeeLinks.toModel(savedEmployee);
 
         return ResponseEntity.status(HttpStatus.CREATED)
                              .header("info", "Data saved successfully")
                              .body(entityModel);
     }
     
-    // Get all employees
+    // Get all employees; pass size (and the next-cursor header value as after) to page by id.
+    // A plain JSON array, or a HAL collection with links for Accept: application/hal+json
     @GetMapping("/getall")
-    public ResponseEntity<List<Employee>> getEmployees() {
+    public ResponseEntity<?> getEmployees(@RequestParam(required = false) Integer size,
+                                          @RequestParam(required = false) String after,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         logger.info("Request to fetch all employees");
-        logger.info("It is third Test commit for Jenkins automation!");
-        List<Employee> employees = employeeService.getAllEmployees();
-        return ResponseEntity.ok(employees);
+        List<Employee> employees;
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (size != null) {
+            employees = employeeService.getEmployeesPage(after, size);
+            withCursor(response, employees);
+        } else {
+            employees = employeeService.getAllEmployees();
+        }
+        if (wantsHal(accept)) {
+            return response.contentType(MediaTypes.HAL_JSON).body(employeeLinks.toCollectionModel(employees));
+        }
+        return response.body(employees);
+    }
+
+    // Stream all employees as NDJSON with constant memory
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        logger.info("Request to export all employees");
+        StreamingResponseBody body = out -> employeeService.exportAll(out);
+        return ResponseEntity.ok()
+                             .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                             .body(body);
     }
 
     // Get employee by ID
     @GetMapping("/{id}")
-    public ResponseEntity<Employee> getEmployee(@PathVariable("id") String id) {
+    // Conditional GET: a matching If-None-Match returns 304 after a version-only lookup.
+    // HAL with links only for Accept: application/hal+json
+    public ResponseEntity<?> getEmployee(@PathVariable("id") String id,
+                                         @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         logger.info("Request to fetch employee with ID: {}", id);
+        if (ifNoneMatch != null) {
+            Long version = employeeService.getEmployeeVersion(id);
+            if (ETags.noneMatchHits(ifNoneMatch, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETags.of(version)).build();
+            }
+        }
         Employee employee = employeeService.getEmployeeById(id);
-        return ResponseEntity.ok(employee);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(ETags.of(employee.getVersion()));
+        if (wantsHal(accept)) {
+            return response.contentType(MediaTypes.HAL_JSON).body(employeeLinks.toModel(employee));
+        }
+        return response.body(employee);
     }
     
  // Delete employee by ID
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteEmployee(@PathVariable("id") String id) {
+    public ResponseEntity<Void> deleteEmployee(@PathVariable("id") String id,
+                                               @RequestHeader(value = "If-Match", required = false) String ifMatch) {
         logger.info("Request to delete employee with ID: {}", id);
-        employeeService.deleteEmpById(id);
+        employeeService.deleteEmpById(id, ETags.expectedVersion(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
     // Update employee by ID
     @PutMapping("/{id}")
     public ResponseEntity<Employee> updateEmployee(@PathVariable("id") String id,
+                                                   @RequestHeader(value = "If-Match", required = false) String ifMatch,
                                                    @RequestBody Employee updateEmployeeDetails) {
         logger.info("Request to update employee with ID: {}, Data: {}", id, updateEmployeeDetails);
-        Employee employee = employeeService.updateEmployeeById(id, updateEmployeeDetails);
-        return ResponseEntity.ok(employee);
+        Employee employee = employeeService.updateEmployeeById(id, updateEmployeeDetails, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(employee.getVersion())).body(employee);
     }
 
     // Patch employee by ID
     @PatchMapping("/{id}")
     public ResponseEntity<Employee> patchEmployee(@PathVariable("id") String id,
+                                                  @RequestHeader(value = "If-Match", required = false) String ifMatch,
                                                   @RequestBody Map<String, Object> patchEmployeeDetails) {
         logger.info("Request to patch employee with ID: {}, Fields: {}", id, patchEmployeeDetails);
-        Employee employee = employeeService.partiallyUpdateEmployeeById(id, patchEmployeeDetails);
-        return ResponseEntity.ok(employee);
+        Employee employee = employeeService.partiallyUpdateEmployeeById(id, patchEmployeeDetails, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(employee.getVersion())).body(employee);
+    }
+
+    // Batch PATCH: body maps each id to the same fields PATCH /{id} accepts
+    @PatchMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> patchEmployees(@RequestBody Map<String, Map<String, Object>> patches) {
+        logger.info("Request to batch patch employees, Count: {}", patches.size());
+        return ResponseEntity.ok(employeeService.patchEmployees(patches));
+    }
+
+    // Batch DELETE: body is the list of ids
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> deleteEmployees(@RequestBody List<String> ids) {
+        logger.info("Request to batch delete employees, Count: {}", ids.size());
+        return ResponseEntity.ok(employeeService.deleteEmployees(ids));
     }
 
     // Bulk save employees
@@ -134,6 +186,19 @@ public class EmployeeController {
                              .header("info", "Bulk data saved successfully")
                              .body(employees);
     }
+
+    // Streaming import of NDJSON or CSV (header row required); returns a summary instead of the saved rows
+    @PostMapping(value = "/import", consumes = { "application/x-ndjson", "text/csv" })
+    public ResponseEntity<ImportSummary> importEmployees(@RequestHeader("Content-Type") String contentType,
+                                                        HttpServletRequest request) throws IOException {
+        logger.info("Request to import employees, Content-Type: {}", contentType);
+        ImportSummary summary = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? employeeImportService.importCsv(request.getInputStream())
+                : employeeImportService.importNdjson(request.getInputStream());
+        return ResponseEntity.ok()
+                             .header("info", "Import completed")
+                             .body(summary);
+    }
     
  // Get employee count
     @GetMapping("/count")
@@ -143,6 +208,19 @@ public class EmployeeController {
         return ResponseEntity.ok(noOfEmps);
     }
     
+    // Headcount, total/average/min/max salary and salary histogram per dept + gender (served from memory)
+    @GetMapping("/stats")
+    public ResponseEntity<List<SalaryStats>> salaryStats(@RequestParam(required = false) String dept,
+                                                         @RequestParam(required = false) String gender) {
+        return ResponseEntity.ok(employeeService.getSalaryStats(dept, gender));
+    }
+
+    // Hit/miss/eviction counters of the employee lookup cache
+    @GetMapping("/cache-stats")
+    public ResponseEntity<Map<String, Object>> cacheStats() {
+        return ResponseEntity.ok(employeeService.cacheStats());
+    }
+    
     // Delete all employees
     @DeleteMapping("/deleteAll")
     public ResponseEntity<Void> deleteAll() {
@@ -163,44 +241,122 @@ public class EmployeeController {
         return ResponseEntity.ok(employee);
     }
 
+    // Fuzzy search by (partial or misspelt) name or email, best matches first
+    @GetMapping("/name-search")
+    public ResponseEntity<List<NameMatch>> searchByName(@RequestParam("q") String query,
+                                                        @RequestParam(defaultValue = "10") int limit) {
+        logger.info("Request to search employee names for: {}", query);
+        return ResponseEntity.ok(employeeService.searchByName(query, limit));
+    }
+
+    // Combined search: dept (repeatable), gender, minSalary, maxSalary, emailPrefix, namePrefix,
+    // sort=field[,desc] (repeatable); always keyset paged, follow the next-cursor header with after
+    @GetMapping("/search")
+    public ResponseEntity<List<Employee>> search(@ModelAttribute EmployeeSearch search,
+                                                 @RequestParam(required = false) Integer size,
+                                                 @RequestParam(required = false) String after) {
+        logger.info("Request to search employees: {}", search);
+        SearchPage result = employeeService.search(search, after, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.nextCursor() != null) {
+            response.header(PageCursor.HEADER, result.nextCursor());
+        }
+        return response.body(result.employees());
+    }
+
     // Get employees by salary range
+    // The list finders accept ?fields=id,name,... to select only those columns (rows become JSON objects of those fields)
     @GetMapping("/search2")
-    public ResponseEntity<List<com.mohan.spring.AdvanceRestApi.model.Employee>> getEmployeesBySalaryBetween(@RequestParam double minSalary, @RequestParam double maxSalary) {
+    public ResponseEntity<List<?>> getEmployeesBySalaryBetween(@RequestParam double minSalary, @RequestParam double maxSalary,
+                                                               @RequestParam(required = false) Integer size,
+                                                               @RequestParam(required = false) String after,
+                                                               @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return sparse(fields, EmployeeSpecifications.salaryBetween(minSalary, maxSalary), after, size);
+        }
+        if (size != null) {
+            return page(employeeService.getEmployeesBySalaryBetween(minSalary, maxSalary, after, size));
+        }
         List<Employee> employees = employeeService.getEmployeesBySalaryBetween(minSalary, maxSalary);
         return ResponseEntity.ok(employees);
     }
     
     // Find by dept AND gender
     @GetMapping("/findByDeptAndGender")
-    public ResponseEntity<List<Employee>> getByDeptAndGender(@RequestParam String dept,
-                                                             @RequestParam String gender) {
+    public ResponseEntity<List<?>> getByDeptAndGender(@RequestParam String dept,
+                                                      @RequestParam String gender,
+                                                      @RequestParam(required = false) Integer size,
+                                                      @RequestParam(required = false) String after,
+                                                      @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return sparse(fields, EmployeeSpecifications.deptAndGender(dept, gender), after, size);
+        }
+        if (size != null) {
+            return page(employeeService.findByDeptAndGender(dept, gender, after, size));
+        }
         List<Employee> result = employeeService.findByDeptAndGender(dept, gender);
         return ResponseEntity.ok(result);
     }
 
     // Find by dept OR gender
     @GetMapping("/findByDeptOrGender")
-    public ResponseEntity<List<Employee>> getByDeptOrGender(@RequestParam String dept,
-                                                            @RequestParam String gender) {
+    public ResponseEntity<List<?>> getByDeptOrGender(@RequestParam String dept,
+                                                     @RequestParam String gender,
+                                                     @RequestParam(required = false) Integer size,
+                                                     @RequestParam(required = false) String after,
+                                                     @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return sparse(fields, EmployeeSpecifications.deptOrGender(dept, gender), after, size);
+        }
+        if (size != null) {
+            return page(employeeService.findByDeptOrGender(dept, gender, after, size));
+        }
         List<Employee> result = employeeService.findByDeptOrGender(dept, gender);
         return ResponseEntity.ok(result);
     }
 
     // Find by gender
     @GetMapping("/findByGender")
-    public ResponseEntity<List<Employee>> getByGender(@RequestParam String gender) {
+    public ResponseEntity<List<?>> getByGender(@RequestParam String gender,
+                                               @RequestParam(required = false) Integer size,
+                                               @RequestParam(required = false) String after,
+                                               @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return sparse(fields, EmployeeSpecifications.gender(gender), after, size);
+        }
+        if (size != null) {
+            return page(employeeService.findByGender(gender, after, size));
+        }
         return ResponseEntity.ok(employeeService.findByGender(gender));
     }
 
     // Find by salary greater than
     @GetMapping("/findBySalaryGreaterThan")
-    public ResponseEntity<List<Employee>> getBySalaryGreaterThan(@RequestParam Double salary) {
+    public ResponseEntity<List<?>> getBySalaryGreaterThan(@RequestParam Double salary,
+                                                          @RequestParam(required = false) Integer size,
+                                                          @RequestParam(required = false) String after,
+                                                          @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return sparse(fields, EmployeeSpecifications.salaryGreaterThan(salary), after, size);
+        }
+        if (size != null) {
+            return page(employeeService.findBySalaryGreaterThan(salary, after, size));
+        }
         return ResponseEntity.ok(employeeService.findBySalaryGreaterThan(salary));
     }
 
     // Find by salary less than
     @GetMapping("/findBySalaryLessThan")
-    public ResponseEntity<List<Employee>> getBySalaryLessThan(@RequestParam Double salary) {
+    public ResponseEntity<List<?>> getBySalaryLessThan(@RequestParam Double salary,
+                                                       @RequestParam(required = false) Integer size,
+                                                       @RequestParam(required = false) String after,
+                                                       @RequestParam(required = false) String fields) {
+        if (fields != null) {
+            return sparse(fields, EmployeeSpecifications.salaryLessThan(salary), after, size);
+        }
+        if (size != null) {
+            return page(employeeService.findBySalaryLessThan(salary, after, size));
+        }
         return ResponseEntity.ok(employeeService.findBySalaryLessThan(salary));
     }
 
@@ -222,9 +378,10 @@ public class EmployeeController {
     public ResponseEntity<String> updateWithNewName(
             @PathVariable String id,
             @RequestParam String oldName,
-            @RequestParam String newName) {
+            @RequestParam String newName,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
 
-        employeeService.updateWithNewName(id, oldName, newName);
+        employeeService.updateWithNewName(id, oldName, newName, ETags.expectedVersion(ifMatch));
         return ResponseEntity.ok("Employee name updated successfully");
     }
 
@@ -254,6 +411,49 @@ public class EmployeeController {
             ? "Salaries updated successfully for " + updatedCount + " employees"
             : "No employees found in department " + dept);
     }
+
+    // Apply a configured salary revision to a department (or everyone); dryRun returns the delta only
+    @PostMapping("/salary-revision")
+    public ResponseEntity<SalaryRevisionResult> applySalaryRevision(@RequestParam("policy") String policy,
+                                                                    @RequestParam(value = "dept", required = false) String dept,
+                                                                    @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) {
+        logger.info("Request to apply salary policy {} to dept {} (dryRun={})", policy, dept, dryRun);
+        return ResponseEntity.ok(employeeService.applySalaryRevision(policy, dept, dryRun));
+    }
+
+    // Keyset page response: every non-empty page carries the cursor for the next one,
+    // clients stop at the first empty page (size may have been capped by the service)
+    private ResponseEntity<List<?>> page(List<?> rows) {
+        return withCursor(ResponseEntity.ok(), rows).body(rows);
+    }
+
+    private ResponseEntity<List<?>> sparse(String fields, Specification<Employee> filter, String after, Integer size) {
+        List<Map<String, Object>> rows = employeeService.findFields(fields, filter, after, size);
+        return size != null ? page(rows) : ResponseEntity.ok(rows);
+    }
+
+    private static ResponseEntity.BodyBuilder withCursor(ResponseEntity.BodyBuilder response, List<?> rows) {
+        if (!rows.isEmpty()) {
+            response.header(PageCursor.HEADER, PageCursor.encode(idOf(rows.get(rows.size() - 1))));
+        }
+        return response;
+    }
+
+    // Only an explicit application/hal+json selects HAL, so */* and application/json clients keep the plain shape
+    private static boolean wantsHal(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        try {
+            return MediaType.parseMediaTypes(accept).stream().anyMatch(MediaTypes.HAL_JSON::equalsTypeAndSubtype);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private static String idOf(Object row) {
+        return row instanceof Employee employee ? employee.getId() : (String) ((Map<?, ?>) row).get("id");
+    }
 	
     
 }
@@ -0,0 +1,71 @@
+package com.mohan.spring.AdvanceRestApi.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+
+/**
+ * HATEOAS links for the employee resource.
+ *
+ * WebMvcLinkBuilder.methodOn creates a proxy and resolves the mappings on every
+ * call. Here the paths are read from EmployeeController's mapping once, and a
+ * request only appends the id to the base URI. The base URI is resolved once
+ * per response, also for lists.
+ */
+@Component
+public class EmployeeLinks {
+
+	static final LinkRelation DELETE = LinkRelation.of("Delete");
+	static final LinkRelation UPDATE = LinkRelation.of("Update");
+	static final LinkRelation PATCH = LinkRelation.of("Patch");
+
+	// "/api/v1/employees/" - GET, PUT, PATCH and DELETE /{id} share it
+	private final String itemPath;
+	private final String collectionPath;
+
+	public EmployeeLinks() {
+		RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(EmployeeController.class, RequestMapping.class);
+		String base = mapping.path()[0];
+		this.itemPath = base + "/";
+		this.collectionPath = base + "/getall";
+	}
+
+	// Self, Delete, Update and Patch links, as returned by POST /save and GET /{id}
+	public EntityModel<Employee> toModel(Employee employee) {
+		return toModel(employee, currentBaseUri());
+	}
+
+	// Every item with its links, plus a self link for the collection
+	public CollectionModel<EntityModel<Employee>> toCollectionModel(List<Employee> employees) {
+		String baseUri = currentBaseUri();
+		List<EntityModel<Employee>> models = new ArrayList<>(employees.size());
+		for (Employee employee : employees) {
+			models.add(toModel(employee, baseUri));
+		}
+		return CollectionModel.of(models, Link.of(baseUri + collectionPath, IanaLinkRelations.SELF));
+	}
+
+	EntityModel<Employee> toModel(Employee employee, String baseUri) {
+		Link self = Link.of(baseUri + itemPath + UriUtils.encodePathSegment(employee.getId(), StandardCharsets.UTF_8),
+				IanaLinkRelations.SELF);
+		return EntityModel.of(employee, self, self.withRel(DELETE), self.withRel(UPDATE), self.withRel(PATCH));
+	}
+
+	// Scheme, host, port and context path of the current request
+	static String currentBaseUri() {
+		return ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString();
+	}
+}
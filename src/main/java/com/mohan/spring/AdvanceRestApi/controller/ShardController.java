@@ -0,0 +1,69 @@
+package com.mohan.spring.AdvanceRestApi.controller;
+
+import java.net.URI;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.mohan.spring.AdvanceRestApi.exception.BadRequestException;
+import com.mohan.spring.AdvanceRestApi.model.BulkJob;
+import com.mohan.spring.AdvanceRestApi.model.ShardLayout;
+import com.mohan.spring.AdvanceRestApi.service.BulkJobService;
+import com.mohan.spring.AdvanceRestApi.service.ShardRebalancer;
+
+// Shard directory and online moves (employee.shards.*); moves run as jobs, polled at /api/v1/employees/jobs/{id}
+@CrossOrigin(origins = "http://localhost:5173")
+@RestController
+@RequestMapping("/api/v1/shards")
+public class ShardController {
+
+	private static final Logger logger = LoggerFactory.getLogger(ShardController.class);
+
+	@Autowired
+	ObjectProvider<ShardRebalancer> shardRebalancer;
+
+	@Autowired
+	BulkJobService bulkJobService;
+
+    @GetMapping
+    public ResponseEntity<ShardLayout> layout() {
+        return ResponseEntity.ok(rebalancer().layout());
+    }
+
+    // Spread the prefixes over all shards by row count, e.g. after adding an empty shard
+    @PostMapping("/rebalance")
+    public ResponseEntity<BulkJob> rebalance() {
+        logger.info("Request to rebalance shards");
+        return accepted(bulkJobService.submitShardMoves(rebalancer().plan()));
+    }
+
+    @PostMapping("/moves")
+    public ResponseEntity<BulkJob> move(@RequestParam("prefix") String prefix, @RequestParam("shard") String shard) {
+        logger.info("Request to move prefix {} to shard {}", prefix, shard);
+        return accepted(bulkJobService.submitShardMoves(Map.of(prefix.trim().toUpperCase(), shard.trim())));
+    }
+
+    private ShardRebalancer rebalancer() {
+        ShardRebalancer rebalancer = shardRebalancer.getIfAvailable();
+        if (rebalancer == null) {
+            throw new BadRequestException("Sharding is not enabled (employee.shards.enabled)");
+        }
+        return rebalancer;
+    }
+
+    private ResponseEntity<BulkJob> accepted(BulkJob job) {
+        return ResponseEntity.accepted()
+                             .location(URI.create("/api/v1/employees/jobs/" + job.getId()))
+                             .body(job);
+    }
+}
@@ -0,0 +1,10 @@
+package com.mohan.spring.AdvanceRestApi.exception;
+
+// A request the client has to fix (bad cursor, page size, sort key, unknown field or policy); answered with 400
+public class BadRequestException extends RuntimeException {
+
+	public BadRequestException(String message)
+	{
+		super(message);
+	}
+}
@@ -0,0 +1,10 @@
+package com.mohan.spring.AdvanceRestApi.exception;
+
+// A change feed resume point is older than the retained events, so some events can no longer be sent
+public class ChangesPurgedException extends RuntimeException {
+
+	public ChangesPurgedException(String message)
+	{
+		super(message);
+	}
+}
@@ -3,8 +3,11 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -29,6 +32,92 @@ public class EmployeeControllerAdvice {
 				             .header("error info", "Employee not found")
 				             .body(apiErrorResponse);
 	}
+
+	// If-Match did not match, or a concurrent update won the race on the version column
+	@ExceptionHandler({ PreconditionFailedException.class, ObjectOptimisticLockingFailureException.class })
+	public ResponseEntity<ApiErrorResponse> handlePreconditionFailed(RuntimeException ex)
+	{
+		ApiErrorResponse apiErrorResponse = new ApiErrorResponse();
+		apiErrorResponse.setStatusCode(HttpStatus.PRECONDITION_FAILED.value());
+		apiErrorResponse.setMessage(ex instanceof PreconditionFailedException
+				? ex.getMessage()
+				: "Employee was modified concurrently, reload and retry");
+		apiErrorResponse.setDateTime(LocalDateTime.now());
+
+		return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+				             .header("error info", "Version mismatch")
+				             .body(apiErrorResponse);
+	}
+
+	@ExceptionHandler(JobNotFoundException.class)
+	public ResponseEntity<ApiErrorResponse> handleJobNotFound(JobNotFoundException ex)
+	{
+		ApiErrorResponse apiErrorResponse = new ApiErrorResponse();
+		apiErrorResponse.setStatusCode(HttpStatus.NOT_FOUND.value());
+		apiErrorResponse.setMessage(ex.getMessage());
+		apiErrorResponse.setDateTime(LocalDateTime.now());
+
+		return ResponseEntity.status(HttpStatus.NOT_FOUND)
+				             .header("error info", "Job not found")
+				             .body(apiErrorResponse);
+	}
+
+	// Bulk job queue is full
+	@ExceptionHandler(TaskRejectedException.class)
+	public ResponseEntity<ApiErrorResponse> handleJobRejected(TaskRejectedException ex)
+	{
+		ApiErrorResponse apiErrorResponse = new ApiErrorResponse();
+		apiErrorResponse.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE.value());
+		apiErrorResponse.setMessage("Too many bulk jobs queued, retry later");
+		apiErrorResponse.setDateTime(LocalDateTime.now());
+
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				             .header("Retry-After", "30")
+				             .body(apiErrorResponse);
+	}
+
+	// A write hit employees that are being moved between shards
+	@ExceptionHandler(ShardMovingException.class)
+	public ResponseEntity<ApiErrorResponse> handleShardMoving(ShardMovingException ex)
+	{
+		ApiErrorResponse apiErrorResponse = new ApiErrorResponse();
+		apiErrorResponse.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE.value());
+		apiErrorResponse.setMessage(ex.getMessage());
+		apiErrorResponse.setDateTime(LocalDateTime.now());
+
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				             .header("Retry-After", "1")
+				             .body(apiErrorResponse);
+	}
+
+	// Change feed resume from an offset whose successors were purged: re-read the data, then subscribe afresh.
+	// JSON even though the client asked for a stream type
+	@ExceptionHandler(ChangesPurgedException.class)
+	public ResponseEntity<ApiErrorResponse> handleChangesPurged(ChangesPurgedException ex)
+	{
+		ApiErrorResponse apiErrorResponse = new ApiErrorResponse();
+		apiErrorResponse.setStatusCode(HttpStatus.GONE.value());
+		apiErrorResponse.setMessage(ex.getMessage());
+		apiErrorResponse.setDateTime(LocalDateTime.now());
+
+		return ResponseEntity.status(HttpStatus.GONE)
+				             .header("error info", "Change feed offset expired")
+				             .contentType(MediaType.APPLICATION_JSON)
+				             .body(apiErrorResponse);
+	}
+
+	@ExceptionHandler(BadRequestException.class)
+	public ResponseEntity<ApiErrorResponse> handleBadRequest(BadRequestException ex)
+	{
+		ApiErrorResponse apiErrorResponse = new ApiErrorResponse();
+		apiErrorResponse.setStatusCode(HttpStatus.BAD_REQUEST.value());
+		apiErrorResponse.setMessage(ex.getMessage());
+		apiErrorResponse.setDateTime(LocalDateTime.now());
+
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+				             .header("error info", "Invalid request")
+				             .body(apiErrorResponse);
+	}
 }
 	
 
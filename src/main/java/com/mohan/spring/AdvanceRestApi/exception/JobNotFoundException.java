@@ -0,0 +1,9 @@
+package com.mohan.spring.AdvanceRestApi.exception;
+
+public class JobNotFoundException extends RuntimeException {
+
+	public JobNotFoundException(String message)
+	{
+		super(message);
+	}
+}
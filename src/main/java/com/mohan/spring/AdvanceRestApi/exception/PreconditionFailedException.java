@@ -0,0 +1,9 @@
+package com.mohan.spring.AdvanceRestApi.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+	public PreconditionFailedException(String message)
+	{
+		super(message);
+	}
+}
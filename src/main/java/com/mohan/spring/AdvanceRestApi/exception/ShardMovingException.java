@@ -0,0 +1,10 @@
+package com.mohan.spring.AdvanceRestApi.exception;
+
+// A write waited too long for employees that are being moved to another shard
+public class ShardMovingException extends RuntimeException {
+
+	public ShardMovingException(String message)
+	{
+		super(message);
+	}
+}
@@ -0,0 +1,196 @@
+package com.mohan.spring.AdvanceRestApi.filter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.mohan.spring.AdvanceRestApi.config.AdmissionProperties;
+import com.mohan.spring.AdvanceRestApi.filter.ConcurrencyLimiter.Priority;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Adaptive admission control in front of the employee API.
+ *
+ * Requests are classed by what they cost: point reads (GET /{id}, /search1,
+ * /count) are CRITICAL, whole-table and bulk work (unpaged /getall, /export,
+ * /bulk, /import, /batch and the bulk salary and delete endpoints) is BULK,
+ * everything else NORMAL. A ConcurrencyLimiter admits them against a limit
+ * that follows request latency, and bulk requests may only fill part of
+ * it, so GET /{id} keeps its latency while batch work runs. Bulk requests are
+ * shed at once when over their share, the others after a short wait, with a
+ * 503 and Retry-After.
+ *
+ * Every class feeds the limit, each measured against its own baseline, so a
+ * write-only burst moves it as well. Asynchronous responses (/export) hold
+ * their slot until they complete but are not sampled, since their duration
+ * depends on how fast the client reads; the change feed streams are not
+ * limited at all.
+ *
+ * Metrics: employee.admission.limit, .in-flight and .queued gauges, the
+ * .rejected counter and the .wait timer, both tagged by priority.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private static final String API = "/api/v1/employees";
+    private static final String CHANGES = API + "/changes";
+
+    // Employee ids are <prefix><year>-<sequence>, e.g. DEV2024-007
+    private static final Pattern EMPLOYEE_ID = Pattern.compile("/[^/]*\\d{4}-\\d+");
+    private static final Set<String> POINT_READS = Set.of("/search1", "/count");
+    private static final Set<String> BULK = Set.of("/export", "/bulk", "/import", "/batch", "/deleteAll",
+            "/delbydeptgender", "/increase-salary", "/salary-revision");
+
+    private final ConcurrencyLimiter limiter;
+    private final Map<Priority, Long> maxWaitNanos = new EnumMap<>(Priority.class);
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+    private final Map<Priority, Timer> waits = new EnumMap<>(Priority.class);
+    private final String retryAfter;
+
+    public AdmissionControlFilter(AdmissionProperties properties, MeterRegistry registry) {
+        this.limiter = new ConcurrencyLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getTolerance(), properties.getNormalShare(),
+                properties.getBulkShare(), properties.getMaxQueue());
+        this.retryAfter = String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds()));
+        maxWaitNanos.put(Priority.CRITICAL, properties.getCriticalMaxWait().toNanos());
+        maxWaitNanos.put(Priority.NORMAL, properties.getNormalMaxWait().toNanos());
+        maxWaitNanos.put(Priority.BULK, properties.getBulkMaxWait().toNanos());
+
+        Gauge.builder("employee.admission.limit", limiter, ConcurrencyLimiter::limit)
+             .description("Current adaptive concurrency limit").register(registry);
+        Gauge.builder("employee.admission.in-flight", limiter, ConcurrencyLimiter::inFlight)
+             .description("Admitted requests in progress").register(registry);
+        Gauge.builder("employee.admission.queued", limiter, ConcurrencyLimiter::queued)
+             .description("Requests waiting for a slot").register(registry);
+        for (Priority priority : Priority.values()) {
+            String tag = priority.name().toLowerCase();
+            Gauge.builder("employee.admission.baseline", limiter, l -> l.baselineMillis(priority))
+                 .description("Long-term latency the limit is measured against").tag("priority", tag)
+                 .baseUnit("milliseconds").register(registry);
+            rejected.put(priority, Counter.builder("employee.admission.rejected")
+                    .description("Requests shed with 503").tag("priority", tag).register(registry));
+            waits.put(priority, Timer.builder("employee.admission.wait")
+                    .description("Time admitted requests waited for a slot").tag("priority", tag).register(registry));
+        }
+        logger.info("Admission control: initial limit {} (min {}, max {})", properties.getInitialLimit(),
+                properties.getMinLimit(), properties.getMaxLimit());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        return !uri.startsWith(API) || uri.startsWith(CHANGES);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Priority priority = classify(request);
+        long arrived = System.nanoTime();
+        boolean admitted;
+        try {
+            admitted = limiter.acquire(priority, maxWaitNanos.get(priority));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+
+        if (!admitted) {
+            rejected.get(priority).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", retryAfter);
+            return;
+        }
+
+        long started = System.nanoTime();
+        waits.get(priority).record(started - arrived, TimeUnit.NANOSECONDS);
+        Release release = new Release(priority, started);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                release.sampled = false;
+                request.getAsyncContext().addListener(release);
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    static Priority classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(API.length());
+        boolean get = "GET".equals(request.getMethod());
+        if (get && (POINT_READS.contains(path) || EMPLOYEE_ID.matcher(path).matches())) {
+            return Priority.CRITICAL;
+        }
+        if (BULK.contains(path) || path.startsWith("/jobs/") && !get
+                || get && "/getall".equals(path) && request.getParameter("size") == null) {
+            return Priority.BULK;
+        }
+        return Priority.NORMAL;
+    }
+
+    // Returns the slot once, on completion or on any async end
+    private final class Release implements AsyncListener {
+
+        private final Priority priority;
+        private final long started;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private volatile boolean sampled = true;
+
+        Release(Priority priority, long started) {
+            this.priority = priority;
+            this.started = started;
+        }
+
+        void run() {
+            if (done.compareAndSet(false, true)) {
+                limiter.release(priority, sampled ? System.nanoTime() - started : -1);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
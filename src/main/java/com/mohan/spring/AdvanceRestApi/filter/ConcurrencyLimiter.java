@@ -0,0 +1,194 @@
+package com.mohan.spring.AdvanceRestApi.filter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit with priority classes and a latency-driven size.
+ *
+ * Each class may only use its share of the limit, and arrivals queue behind
+ * waiters of their own or a higher class. A freed slot goes to the highest
+ * class that has waiters and room.
+ *
+ * The limit follows the gradient between a long-term (baseline) and a
+ * short-term average of the sampled latency. Every class is sampled, and
+ * each against its own averages, so a bulk request is compared with other
+ * bulk requests and a change in the mix alone does not move the limit:
+ *
+ *   gradient = clamp(tolerance * longRtt[class] / shortRtt[class], 0.5, 1)
+ *   limit    = 0.8 * limit + 0.2 * (limit * gradient + sqrt(limit))
+ *
+ * While latency stays within tolerance the limit grows by about sqrt(limit);
+ * once it rises past it the limit shrinks, by half at most. Samples taken
+ * while less than half the limit is in use are ignored, since latency then
+ * says nothing about the limit.
+ */
+final class ConcurrencyLimiter {
+
+    enum Priority { CRITICAL, NORMAL, BULK }
+
+    private static final double SHORT_WEIGHT = 0.1;
+    private static final double LONG_WEIGHT = 0.01;
+    private static final double SMOOTHING = 0.2;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition[] available = new Condition[Priority.values().length];
+    private final int[] waiting = new int[Priority.values().length];
+    private final double[] share;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final int maxQueue;
+
+    private double limit;
+    private int inFlight;
+    private final double[] shortRtt = new double[Priority.values().length];
+    private final double[] longRtt = new double[Priority.values().length];
+
+    ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                       double normalShare, double bulkShare, int maxQueue) {
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.maxQueue = maxQueue;
+        this.share = new double[] { 1.0, normalShare, bulkShare };
+        for (int i = 0; i < available.length; i++) {
+            available[i] = lock.newCondition();
+        }
+    }
+
+    // Take a slot, waiting up to maxWaitNanos; false when shed
+    boolean acquire(Priority priority, long maxWaitNanos) throws InterruptedException {
+        int p = priority.ordinal();
+        lock.lock();
+        try {
+            if (hasRoom(p) && !waitersAbove(p + 1)) {
+                inFlight++;
+                return true;
+            }
+            if (maxWaitNanos <= 0 || queued() >= maxQueue) {
+                return false;
+            }
+            waiting[p]++;
+            try {
+                long remaining = maxWaitNanos;
+                while (!hasRoom(p) || waitersAbove(p)) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = available[p].awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                waiting[p]--;
+                // Pass the wake-up on: there may be room for the next waiter too
+                signalNext();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Return a slot; a non-negative rtt is a latency sample of the priority's class
+    void release(Priority priority, long rttNanos) {
+        lock.lock();
+        try {
+            if (rttNanos >= 0) {
+                sample(priority.ordinal(), rttNanos, inFlight);
+            }
+            inFlight--;
+            signalNext();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int limit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int inFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int queued() {
+        lock.lock();
+        try {
+            int total = 0;
+            for (int w : waiting) {
+                total += w;
+            }
+            return total;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Long-term latency of a class, 0 before its first sample
+    double baselineMillis(Priority priority) {
+        lock.lock();
+        try {
+            return longRtt[priority.ordinal()] / TimeUnit.MILLISECONDS.toNanos(1);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sample(int p, long rttNanos, int inUse) {
+        if (longRtt[p] == 0) {
+            shortRtt[p] = longRtt[p] = Math.max(1, rttNanos);
+            return;
+        }
+        shortRtt[p] += (rttNanos - shortRtt[p]) * SHORT_WEIGHT;
+        longRtt[p] += (rttNanos - longRtt[p]) * LONG_WEIGHT;
+        // After a spike the baseline sits well above current latency; let it come back down quickly
+        if (longRtt[p] > 2 * shortRtt[p]) {
+            longRtt[p] *= 0.95;
+        }
+        if (inUse < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt[p] / Math.max(1, shortRtt[p])));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + target * SMOOTHING));
+    }
+
+    private boolean hasRoom(int p) {
+        return inFlight < Math.max(1, (int) (limit * share[p]));
+    }
+
+    // Whether any class ranked before p has waiters
+    private boolean waitersAbove(int p) {
+        for (int i = 0; i < p; i++) {
+            if (waiting[i] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void signalNext() {
+        for (int p = 0; p < waiting.length; p++) {
+            if (waiting[p] > 0) {
+                if (hasRoom(p)) {
+                    available[p].signal();
+                }
+                // Lower classes stay behind this one's waiters
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Per-id outcome of a batch PATCH/DELETE, using HTTP status codes
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+
+	private String id;
+	private int status;
+	private String message;
+	private Employee employee;
+
+}
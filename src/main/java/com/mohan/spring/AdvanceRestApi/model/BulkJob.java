@@ -0,0 +1,61 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Transient;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// State and progress of an asynchronous bulk operation, persisted so any node can report it
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class BulkJob {
+
+	@Id
+	private String id;
+
+	@Enumerated(EnumType.STRING)
+	private JobType type;
+
+	@Enumerated(EnumType.STRING)
+	private JobStatus status;
+
+	// Node that runs the job; used to fail its unfinished jobs after a restart
+	@JsonIgnore
+	private String node;
+
+	private long total;
+	private long processed;
+	private long failed;
+	private boolean cancelRequested;
+	private String message;
+	private LocalDateTime createdAt;
+	private LocalDateTime startedAt;
+	private LocalDateTime finishedAt;
+
+	// Renewed while the job is queued or running; an expired lease means its node is gone
+	@JsonIgnore
+	private LocalDateTime heartbeatAt;
+
+	// Rows per second since the job started
+	@Transient
+	public double getThroughputPerSecond() {
+		if (startedAt == null) {
+			return 0;
+		}
+		LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+		long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+		return Math.round(processed * 1000.0 / millis * 10.0) / 10.0;
+	}
+
+}
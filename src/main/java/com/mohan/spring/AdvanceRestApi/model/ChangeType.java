@@ -0,0 +1,5 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+public enum ChangeType {
+	INSERT, UPDATE, DELETE, BULK_UPDATE, BULK_DELETE
+}
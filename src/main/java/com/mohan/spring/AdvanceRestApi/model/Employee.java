@@ -2,11 +2,18 @@ package com.mohan.spring.AdvanceRestApi.model;
 
 
 
+import org.springframework.data.domain.Persistable;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import jakarta.persistence.Entity;
 
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.DecimalMin;
 
 import jakarta.validation.constraints.NotBlank;
@@ -15,6 +22,7 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 
@@ -22,7 +30,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-public class Employee {
+public class Employee implements Persistable<String> {
 	
 	@Id
 	private String id;
@@ -50,6 +58,29 @@ public class Employee {
     private String gender;
     
     private String email;
-	
+
+    // Optimistic lock; also the ETag of GET /{id}. Clients send it back as If-Match, never in the body
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // IDs are assigned by us, so tell Spring Data whether to persist or merge
+    // instead of letting it SELECT each row first
+    @Transient
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private boolean newEntity = true;
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
 
 }
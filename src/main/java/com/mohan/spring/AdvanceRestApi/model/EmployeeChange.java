@@ -0,0 +1,41 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+import java.time.LocalDateTime;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One outbox event of the change feed. Row events carry the employee (after the change, or as
+// deleted) in data; bulk events only name the dept/gender the statement was limited to.
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class EmployeeChange {
+
+	@Id
+	@JsonProperty("offset")
+	private Long changeOffset;
+
+	@Enumerated(EnumType.STRING)
+	private ChangeType type;
+
+	private String employeeId;
+	private String dept;
+	private String gender;
+
+	// EmployeeSnapshot as JSON
+	@JsonRawValue
+	private String data;
+
+	private LocalDateTime createdAt;
+
+}
@@ -0,0 +1,23 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Single row holding the next change feed offset
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class EmployeeChangeOffset {
+
+	public static final int ID = 1;
+
+	@Id
+	private Integer id;
+
+	private long nextOffset;
+
+}
@@ -0,0 +1,21 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row per ID prefix + year (e.g. HR2025) holding the next unreserved sequence value
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+public class EmployeeIdSequence {
+
+	@Id
+	private String name;
+
+	private long nextValue;
+
+}
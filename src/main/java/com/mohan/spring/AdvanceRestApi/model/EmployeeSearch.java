@@ -0,0 +1,26 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Filters and sort keys of GET /search; every filter is optional and they are combined with AND
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeSearch {
+
+	// dept=A&dept=B matches either department
+	private List<String> dept;
+	private String gender;
+	private Double minSalary;
+	private Double maxSalary;
+	private String emailPrefix;
+	private String namePrefix;
+
+	// e.g. sort=dept&sort=salary,desc; id is always the final key so every row has a unique position
+	private List<String> sort;
+
+}
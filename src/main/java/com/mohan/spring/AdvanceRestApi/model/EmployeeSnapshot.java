@@ -0,0 +1,10 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+// Immutable copy of an employee's fields at one point in time, passed to change listeners
+public record EmployeeSnapshot(String id, String name, String dept, String gender, Double salary, String email) {
+
+	public static EmployeeSnapshot of(Employee employee) {
+		return new EmployeeSnapshot(employee.getId(), employee.getName(), employee.getDept(),
+				employee.getGender(), employee.getSalary(), employee.getEmail());
+	}
+}
@@ -0,0 +1,29 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Result of a streaming import: counts plus the first rejected lines
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportSummary {
+
+	private long accepted;
+	private long rejected;
+	private boolean aborted;
+	private List<LineError> errors = new ArrayList<>();
+
+	@Data
+	@AllArgsConstructor
+	@NoArgsConstructor
+	public static class LineError {
+		private long line;
+		private String message;
+	}
+
+}
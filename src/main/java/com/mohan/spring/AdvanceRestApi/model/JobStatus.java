@@ -0,0 +1,5 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+public enum JobStatus {
+	QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+}
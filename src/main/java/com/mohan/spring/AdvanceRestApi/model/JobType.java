@@ -0,0 +1,5 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+public enum JobType {
+	BULK_SAVE, DELETE_ALL, INCREASE_SALARY, SHARD_MOVE
+}
@@ -0,0 +1,5 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+// One ranked hit of the fuzzy name/email search; score is the share of the query's trigrams found (0..1)
+public record NameMatch(String id, String name, String email, String dept, double score) {
+}
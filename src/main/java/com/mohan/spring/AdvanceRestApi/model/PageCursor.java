@@ -0,0 +1,66 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.StringJoiner;
+
+import com.mohan.spring.AdvanceRestApi.exception.BadRequestException;
+
+// Opaque keyset cursor: the last id (or sort key values + id) of a page, base64url encoded
+public final class PageCursor {
+
+	public static final String HEADER = "next-cursor";
+
+	private static final String SEPARATOR = "\u0000";
+	// Multi-key values are tagged so a NULL sort key is not confused with any text
+	private static final String NULL_VALUE = "n";
+	private static final String VALUE_TAG = "v";
+
+	private PageCursor() {
+	}
+
+	public static String encode(String lastId) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.getBytes(StandardCharsets.UTF_8));
+	}
+
+	// A missing cursor means "start from the beginning"; every id sorts after ""
+	public static String decode(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return "";
+		}
+		try {
+			return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new BadRequestException("Invalid page cursor: " + cursor);
+		}
+	}
+
+	// Multi-key cursor for sorted keyset pages: the sort key values and id of the last row; values may be null
+	public static String encode(List<String> lastKeys) {
+		StringJoiner joined = new StringJoiner(SEPARATOR);
+		for (String key : lastKeys) {
+			joined.add(key == null ? NULL_VALUE : VALUE_TAG + key);
+		}
+		return encode(joined.toString());
+	}
+
+	public static List<String> decode(String cursor, int keys) {
+		String[] parts = decode(cursor).split(SEPARATOR, -1);
+		if (parts.length != keys) {
+			throw new BadRequestException("Page cursor does not match the sort keys: " + cursor);
+		}
+		List<String> values = new ArrayList<>(keys);
+		for (String part : parts) {
+			if (part.equals(NULL_VALUE)) {
+				values.add(null);
+			} else if (part.startsWith(VALUE_TAG)) {
+				values.add(part.substring(VALUE_TAG.length()));
+			} else {
+				throw new BadRequestException("Invalid page cursor: " + cursor);
+			}
+		}
+		return values;
+	}
+}
@@ -0,0 +1,24 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Ordered salary rules followed by rounding to a number of decimal places
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryPolicy {
+
+	private List<SalaryRule> rules = new ArrayList<>();
+
+	private int scale = 2;
+
+	public static SalaryPolicy of(SalaryRule... rules) {
+		return new SalaryPolicy(new ArrayList<>(List.of(rules)), 2);
+	}
+
+}
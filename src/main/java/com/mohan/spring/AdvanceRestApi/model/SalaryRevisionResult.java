@@ -0,0 +1,19 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of applying a salary policy in bulk (or what it would be, for a dry run)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryRevisionResult {
+
+	private String policy;
+	private String dept;
+	private boolean dryRun;
+	private long affectedRows;
+	private double totalDelta;
+
+}
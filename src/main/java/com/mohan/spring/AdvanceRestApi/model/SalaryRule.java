@@ -0,0 +1,21 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One salary adjustment: add percent of the salary, optionally only when the salary is above a threshold
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryRule {
+
+	private String name;
+
+	// Applies only when the salary before the policy is greater than this; null = always
+	private Double above;
+
+	// Positive for bonuses/raises, negative for deductions (e.g. -5 for PF)
+	private double percent;
+
+}
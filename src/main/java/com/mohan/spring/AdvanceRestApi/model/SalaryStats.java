@@ -0,0 +1,24 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Headcount and salary aggregates for one department + gender
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryStats {
+
+	private String dept;
+	private String gender;
+	private long count;
+	private double totalSalary;
+	private double averageSalary;
+	private double minSalary;
+	private double maxSalary;
+	private Map<String, Long> histogram;
+
+}
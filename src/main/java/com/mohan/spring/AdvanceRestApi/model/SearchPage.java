@@ -0,0 +1,7 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+import java.util.List;
+
+// One keyset page of GET /search; nextCursor is null when the page is empty
+public record SearchPage(List<Employee> employees, String nextCursor) {
+}
@@ -0,0 +1,8 @@
+package com.mohan.spring.AdvanceRestApi.model;
+
+import java.util.List;
+import java.util.Map;
+
+// GET /api/v1/shards: the shards (home first), the prefix -> shard directory and the rows per prefix on each shard
+public record ShardLayout(List<String> shards, Map<String, String> assignments, Map<String, Map<String, Long>> rows) {
+}
@@ -0,0 +1,73 @@
+package com.mohan.spring.AdvanceRestApi.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mohan.spring.AdvanceRestApi.model.BulkJob;
+import com.mohan.spring.AdvanceRestApi.model.JobStatus;
+
+import jakarta.transaction.Transactional;
+
+@Repository
+public interface BulkJobRepository extends JpaRepository<BulkJob, String> {
+
+    // Progress is written with targeted updates so it never overwrites a concurrent cancel request
+    @Modifying
+    @Transactional
+    @Query("UPDATE BulkJob j SET j.processed = :processed, j.failed = :failed WHERE j.id = :id")
+    int updateProgress(@Param("id") String id, @Param("processed") long processed, @Param("failed") long failed);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE BulkJob j SET j.status = :status, j.startedAt = :at WHERE j.id = :id")
+    int markStarted(@Param("id") String id, @Param("status") JobStatus status, @Param("at") LocalDateTime at);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE BulkJob j SET j.status = :status, j.message = :message, j.finishedAt = :at WHERE j.id = :id")
+    int markFinished(@Param("id") String id, @Param("status") JobStatus status,
+                     @Param("message") String message, @Param("at") LocalDateTime at);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE BulkJob j SET j.cancelRequested = true WHERE j.id = :id"
+         + " AND j.status IN (com.mohan.spring.AdvanceRestApi.model.JobStatus.QUEUED,"
+         + " com.mohan.spring.AdvanceRestApi.model.JobStatus.RUNNING)")
+    int requestCancel(@Param("id") String id);
+
+    @Query("select j.cancelRequested from BulkJob j where j.id = :id")
+    Optional<Boolean> isCancelRequested(@Param("id") String id);
+
+    // Jobs this node was running when it stopped can never finish
+    @Modifying
+    @Transactional
+    @Query("UPDATE BulkJob j SET j.status = com.mohan.spring.AdvanceRestApi.model.JobStatus.FAILED,"
+         + " j.message = 'Interrupted by node restart', j.finishedAt = :at"
+         + " WHERE j.node = :node AND j.status IN (com.mohan.spring.AdvanceRestApi.model.JobStatus.QUEUED,"
+         + " com.mohan.spring.AdvanceRestApi.model.JobStatus.RUNNING)")
+    int failUnfinished(@Param("node") String node, @Param("at") LocalDateTime at);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE BulkJob j SET j.heartbeatAt = :at WHERE j.id IN :ids"
+         + " AND j.status IN (com.mohan.spring.AdvanceRestApi.model.JobStatus.QUEUED,"
+         + " com.mohan.spring.AdvanceRestApi.model.JobStatus.RUNNING)")
+    int renewLeases(@Param("ids") Collection<String> ids, @Param("at") LocalDateTime at);
+
+    // Jobs of any node that stopped renewing their lease (crashed, scaled away, renamed)
+    @Modifying
+    @Transactional
+    @Query("UPDATE BulkJob j SET j.status = com.mohan.spring.AdvanceRestApi.model.JobStatus.FAILED,"
+         + " j.message = 'Lease expired: node stopped', j.finishedAt = :at"
+         + " WHERE (j.heartbeatAt IS NULL OR j.heartbeatAt < :expiredBefore)"
+         + " AND j.status IN (com.mohan.spring.AdvanceRestApi.model.JobStatus.QUEUED,"
+         + " com.mohan.spring.AdvanceRestApi.model.JobStatus.RUNNING)")
+    int failExpired(@Param("expiredBefore") LocalDateTime expiredBefore, @Param("at") LocalDateTime at);
+}
@@ -0,0 +1,43 @@
+package com.mohan.spring.AdvanceRestApi.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mohan.spring.AdvanceRestApi.model.EmployeeChange;
+import com.mohan.spring.AdvanceRestApi.model.EmployeeChangeOffset;
+
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+
+@Repository
+public interface EmployeeChangeRepository extends JpaRepository<EmployeeChange, Long> {
+
+    // Next events after an offset, oldest first (primary key range scan)
+    @Query("select c from EmployeeChange c where c.changeOffset > :after order by c.changeOffset")
+    List<EmployeeChange> findAfter(@Param("after") long after, Pageable page);
+
+    @Query("select max(c.changeOffset) from EmployeeChange c")
+    Optional<Long> findLastOffset();
+
+    @Query("select min(c.changeOffset) from EmployeeChange c")
+    Optional<Long> findFirstOffset();
+
+    // Row lock held until commit: offsets are handed out in commit order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from EmployeeChangeOffset o where o.id = :id")
+    Optional<EmployeeChangeOffset> lockOffset(@Param("id") int id);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM EmployeeChange c WHERE c.createdAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,16 @@
+package com.mohan.spring.AdvanceRestApi.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+
+// Sparse fieldsets (?fields=): only the requested columns are selected, one map per row
+public interface EmployeeFieldsRepository {
+
+    // With a paged Pageable, rows are ordered by id and start after the given id (keyset)
+    List<Map<String, Object>> findFields(Specification<Employee> filter, List<String> fields, String after, Pageable page);
+}
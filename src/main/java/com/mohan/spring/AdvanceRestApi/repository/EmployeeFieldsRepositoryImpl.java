@@ -0,0 +1,68 @@
+package com.mohan.spring.AdvanceRestApi.repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+// Criteria tuple query: SELECT <fields> FROM employee WHERE <filter> [AND id > :after ORDER BY id LIMIT n]
+class EmployeeFieldsRepositoryImpl implements EmployeeFieldsRepository {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFields(Specification<Employee> filter, List<String> fields, String after, Pageable page) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> root = query.from(Employee.class);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(root.get(field).alias(field));
+        }
+        query.multiselect(selections);
+
+        List<Predicate> where = new ArrayList<>(2);
+        Predicate predicate = filter.toPredicate(root, query, cb);
+        if (predicate != null) {
+            where.add(predicate);
+        }
+        if (page.isPaged()) {
+            where.add(cb.greaterThan(root.get("id"), after));
+            query.orderBy(cb.asc(root.get("id")));
+        }
+        query.where(where.toArray(new Predicate[0]));
+
+        TypedQuery<Tuple> typed = entityManager.createQuery(query);
+        if (page.isPaged()) {
+            typed.setMaxResults(page.getPageSize());
+        }
+
+        List<Tuple> tuples = typed.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
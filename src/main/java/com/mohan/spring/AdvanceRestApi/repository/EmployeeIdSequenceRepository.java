@@ -0,0 +1,22 @@
+package com.mohan.spring.AdvanceRestApi.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.mohan.spring.AdvanceRestApi.model.EmployeeIdSequence;
+
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface EmployeeIdSequenceRepository extends JpaRepository<EmployeeIdSequence, String> {
+
+    // Row lock so two nodes can never reserve the same block
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from EmployeeIdSequence s where s.name = :name")
+    Optional<EmployeeIdSequence> findForUpdate(@Param("name") String name);
+}
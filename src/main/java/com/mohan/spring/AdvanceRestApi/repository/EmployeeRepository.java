@@ -2,20 +2,26 @@ package com.mohan.spring.AdvanceRestApi.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.mohan.spring.AdvanceRestApi.model.Employee;
 import com.mohan.spring.AdvanceRestApi.model.NameSalaryDTO;
 
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, String> {
+public interface EmployeeRepository extends JpaRepository<Employee, String>, EmployeeFieldsRepository, EmployeeSearchRepository {
 
 	 // Search by email
     Optional<Employee> findByEmail(String email);
@@ -39,16 +45,77 @@ public interface EmployeeRepository extends JpaRepository<Employee, String> {
     List<Employee> findBySalaryLessThan(Double salary);
 
  // DTO queries
-    @Query("select new com.mohan.spring.AdvanceRestApi.model.NameSalaryDTO(e.name, e.salary) from Employee e")
+    // Ordered by the covering indexes, which also lets per-shard results be merged in order
+    @Query("select new com.mohan.spring.AdvanceRestApi.model.NameSalaryDTO(e.name, e.salary) from Employee e order by e.name, e.salary")
     List<NameSalaryDTO> findNameAndSalary();
 
-    @Query("select new com.mohan.spring.AdvanceRestApi.model.NameSalaryDTO(e.name, e.salary) from Employee e where e.dept = :dept")
+    @Query("select new com.mohan.spring.AdvanceRestApi.model.NameSalaryDTO(e.name, e.salary) from Employee e where e.dept = :dept"
+         + " order by e.name, e.salary")
     List<NameSalaryDTO> findNameAndSalaryByDept(@Param("dept") String dept);
 
+    // Keyset pages ordered by id: rows after the given id, Pageable only supplies the LIMIT
+    @Query("select e from Employee e where e.id > :after order by e.id")
+    List<Employee> findPageAfter(@Param("after") String after, Pageable limit);
+
+    @Query("select e from Employee e where e.salary between :minSalary and :maxSalary and e.id > :after order by e.id")
+    List<Employee> findPageBySalaryBetween(@Param("minSalary") double minSalary, @Param("maxSalary") double maxSalary,
+                                           @Param("after") String after, Pageable limit);
+
+    @Query("select e from Employee e where e.dept = :dept and e.gender = :gender and e.id > :after order by e.id")
+    List<Employee> findPageByDeptAndGender(@Param("dept") String dept, @Param("gender") String gender,
+                                           @Param("after") String after, Pageable limit);
+
+    @Query("select e from Employee e where (e.dept = :dept or e.gender = :gender) and e.id > :after order by e.id")
+    List<Employee> findPageByDeptOrGender(@Param("dept") String dept, @Param("gender") String gender,
+                                          @Param("after") String after, Pageable limit);
+
+    @Query("select e from Employee e where e.gender = :gender and e.id > :after order by e.id")
+    List<Employee> findPageByGender(@Param("gender") String gender, @Param("after") String after, Pageable limit);
+
+    @Query("select e from Employee e where e.salary > :salary and e.id > :after order by e.id")
+    List<Employee> findPageBySalaryGreaterThan(@Param("salary") Double salary, @Param("after") String after, Pageable limit);
+
+    @Query("select e from Employee e where e.salary < :salary and e.id > :after order by e.id")
+    List<Employee> findPageBySalaryLessThan(@Param("salary") Double salary, @Param("after") String after, Pageable limit);
+
+    // Id-only keyset pages, used by chunked bulk jobs
+    @Query("select e.id from Employee e where e.id > :after order by e.id")
+    List<String> findIdsAfter(@Param("after") String after, Pageable limit);
+
+    @Query("select e.id from Employee e where e.dept = :dept and e.id > :after order by e.id")
+    List<String> findIdsByDeptAfter(@Param("dept") String dept, @Param("after") String after, Pageable limit);
+
+    long countByDept(String dept);
+
+    // Whole table as a cursor-backed stream; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAll();
+
+    // (id, dept, gender, salary) rows used to rebuild the in-memory statistics; null filters match everything
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select e.id, e.dept, e.gender, e.salary from Employee e"
+         + " where (:dept is null or e.dept = :dept) and (:gender is null or e.gender = :gender)")
+    Stream<Object[]> streamSalaryFacts(@Param("dept") String dept, @Param("gender") String gender);
+
+    // (id, name, email, dept, gender) rows used to rebuild the in-memory name index; null filters match everything
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select e.id, e.name, e.email, e.dept, e.gender from Employee e"
+         + " where (:dept is null or e.dept = :dept) and (:gender is null or e.gender = :gender)")
+    Stream<Object[]> streamNameFacts(@Param("dept") String dept, @Param("gender") String gender);
+
+    // Version only, for conditional GETs that must not load the entity
+    @Query("select e.version from Employee e where e.id = :id")
+    Optional<Long> findVersionById(@Param("id") String id);
+
+    // Existing IDs for a prefix, used once to seed a new ID sequence
+    @Query("select e.id from Employee e where e.id like concat(:prefix, '%')")
+    List<String> findIdsByPrefix(@Param("prefix") String prefix);
+
     // Update employee name by ID and old name (id type updated to String)
     @Modifying
     @Transactional
-    @Query("UPDATE Employee e SET e.name = :newName WHERE e.id = :id AND e.name = :oldName")
+    @Query("UPDATE Employee e SET e.name = :newName, e.version = e.version + 1 WHERE e.id = :id AND e.name = :oldName")
     int updateEmployeeNameByIdAndOldName(@Param("id") String id,
                                          @Param("oldName") String oldName,
                                          @Param("newName") String newName);
@@ -59,10 +126,4 @@ public interface EmployeeRepository extends JpaRepository<Employee, String> {
     @Query("DELETE FROM Employee e WHERE e.dept = :dept AND e.gender = :gender")
     int deleteByDeptAndGender(@Param("dept") String dept,
                                @Param("gender") String gender);
-
-    // Increase salary by dept
-    @Modifying
-    @Transactional
-    @Query("UPDATE Employee e SET e.salary = e.salary + (e.salary * :percent / 100) WHERE e.dept = :dept")
-    int increaseSalaryByDept(@Param("dept") String dept, @Param("percent") double percent);
 }
@@ -0,0 +1,21 @@
+package com.mohan.spring.AdvanceRestApi.repository;
+
+import java.util.Comparator;
+
+import org.springframework.data.domain.Pageable;
+
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSearch;
+import com.mohan.spring.AdvanceRestApi.model.SearchPage;
+
+// Composable search (GET /search): any combination of filters and sort keys in one keyset-paged query
+public interface EmployeeSearchRepository {
+
+    SearchPage search(EmployeeSearch search, String cursor, Pageable page);
+
+    // The search's ORDER BY as a comparator, for merging pages from several shards
+    Comparator<Employee> searchOrder(EmployeeSearch search);
+
+    // Cursor that continues the search after the given row
+    String searchCursor(EmployeeSearch search, Employee last);
+}
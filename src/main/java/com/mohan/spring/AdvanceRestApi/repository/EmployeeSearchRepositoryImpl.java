@@ -0,0 +1,263 @@
+package com.mohan.spring.AdvanceRestApi.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.domain.Pageable;
+
+import com.mohan.spring.AdvanceRestApi.exception.BadRequestException;
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSearch;
+import com.mohan.spring.AdvanceRestApi.model.PageCursor;
+import com.mohan.spring.AdvanceRestApi.model.SearchPage;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+/**
+ * Builds one JPQL query for an EmployeeSearch.
+ *
+ * The query text depends only on the shape of the search: which filters are
+ * set, the sort keys and whether a cursor is given. Values are always bound
+ * as parameters, and dept IN uses a single list parameter. The text is built
+ * once per shape and cached here. Hibernate caches the parsed query by its
+ * text, so repeated shapes skip both steps.
+ *
+ * Paging is keyset: ORDER BY the sort keys plus id, and the cursor holds the
+ * last row's values for them. email is nullable: NULLs sort first ascending
+ * and last descending, and a NULL cursor value becomes IS NULL / IS NOT NULL
+ * in the keyset predicate (so which values are NULL is part of the shape).
+ */
+class EmployeeSearchRepositoryImpl implements EmployeeSearchRepository {
+
+    private static final Set<String> SORT_KEYS = Set.of("id", "name", "salary", "dept", "email");
+
+    private final Map<String, String> jpqlByShape = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    public SearchPage search(EmployeeSearch search, String cursor, Pageable page) {
+        List<SortKey> keys = sortKeys(search.getSort());
+        List<String> after = cursor == null || cursor.isBlank() ? null : PageCursor.decode(cursor, keys.size());
+
+        String shape = shapeOf(search, keys, after);
+        String jpql = jpqlByShape.computeIfAbsent(shape, s -> buildJpql(search, keys, after));
+
+        TypedQuery<Employee> query = entityManager.createQuery(jpql, Employee.class);
+        if (hasDepts(search)) {
+            query.setParameter("dept", search.getDept());
+        }
+        if (search.getGender() != null) {
+            query.setParameter("gender", search.getGender());
+        }
+        if (search.getMinSalary() != null) {
+            query.setParameter("minSalary", search.getMinSalary());
+        }
+        if (search.getMaxSalary() != null) {
+            query.setParameter("maxSalary", search.getMaxSalary());
+        }
+        if (search.getEmailPrefix() != null) {
+            query.setParameter("emailPrefix", likePrefix(search.getEmailPrefix()));
+        }
+        if (search.getNamePrefix() != null) {
+            query.setParameter("namePrefix", likePrefix(search.getNamePrefix()));
+        }
+        if (after != null) {
+            for (int i = 0; i < keys.size(); i++) {
+                if (after.get(i) != null) {
+                    query.setParameter("k" + i, keys.get(i).parse(after.get(i)));
+                }
+            }
+        }
+        query.setMaxResults(page.getPageSize());
+
+        List<Employee> rows = query.getResultList();
+        String nextCursor = rows.isEmpty() ? null : PageCursor.encode(valuesOf(rows.get(rows.size() - 1), keys));
+        return new SearchPage(rows, nextCursor);
+    }
+
+    @Override
+    public Comparator<Employee> searchOrder(EmployeeSearch search) {
+        Comparator<Employee> order = null;
+        for (SortKey key : sortKeys(search.getSort())) {
+            order = order == null ? key.comparator() : order.thenComparing(key.comparator());
+        }
+        return order;
+    }
+
+    @Override
+    public String searchCursor(EmployeeSearch search, Employee last) {
+        return PageCursor.encode(valuesOf(last, sortKeys(search.getSort())));
+    }
+
+    private static boolean hasDepts(EmployeeSearch search) {
+        return search.getDept() != null && !search.getDept().isEmpty();
+    }
+
+    private static String shapeOf(EmployeeSearch search, List<SortKey> keys, List<String> after) {
+        StringBuilder shape = new StringBuilder();
+        shape.append(hasDepts(search) ? 'D' : '-')
+             .append(search.getGender() != null ? 'G' : '-')
+             .append(search.getMinSalary() != null ? 'S' : '-')
+             .append(search.getMaxSalary() != null ? 'T' : '-')
+             .append(search.getEmailPrefix() != null ? 'E' : '-')
+             .append(search.getNamePrefix() != null ? 'N' : '-')
+             .append(after != null ? 'C' : '-');
+        for (int i = 0; i < keys.size(); i++) {
+            SortKey key = keys.get(i);
+            shape.append('|').append(key.field()).append(key.descending() ? ":d" : ":a");
+            if (after != null && after.get(i) == null) {
+                shape.append(":null");
+            }
+        }
+        return shape.toString();
+    }
+
+    private static String buildJpql(EmployeeSearch search, List<SortKey> keys, List<String> after) {
+        List<String> where = new ArrayList<>();
+        if (hasDepts(search)) {
+            where.add("e.dept IN :dept");
+        }
+        if (search.getGender() != null) {
+            where.add("e.gender = :gender");
+        }
+        if (search.getMinSalary() != null) {
+            where.add("e.salary >= :minSalary");
+        }
+        if (search.getMaxSalary() != null) {
+            where.add("e.salary <= :maxSalary");
+        }
+        if (search.getEmailPrefix() != null) {
+            where.add("e.email LIKE :emailPrefix ESCAPE '\\'");
+        }
+        if (search.getNamePrefix() != null) {
+            where.add("e.name LIKE :namePrefix ESCAPE '\\'");
+        }
+        if (after != null) {
+            where.add(keysetPredicate(keys, after));
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT e FROM Employee e");
+        if (!where.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", where));
+        }
+        jpql.append(" ORDER BY ");
+        for (int i = 0; i < keys.size(); i++) {
+            SortKey key = keys.get(i);
+            jpql.append(i > 0 ? ", " : "").append("e.").append(key.field()).append(key.descending() ? " DESC" : " ASC");
+            if (key.nullable()) {
+                jpql.append(key.descending() ? " NULLS LAST" : " NULLS FIRST");
+            }
+        }
+        return jpql.toString();
+    }
+
+    // (k0 > :k0) OR (k0 = :k0 AND k1 > :k1) OR ... with < for descending keys.
+    // A NULL cursor value is matched with IS NULL; past it come the non-NULLs (ascending) or nothing (descending)
+    private static String keysetPredicate(List<SortKey> keys, List<String> after) {
+        List<String> alternatives = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            String beyond = beyond(keys.get(i), i, after.get(i) == null);
+            if (beyond == null) {
+                continue;
+            }
+            StringBuilder alternative = new StringBuilder("(");
+            for (int j = 0; j < i; j++) {
+                String field = "e." + keys.get(j).field();
+                alternative.append(after.get(j) == null ? field + " IS NULL" : field + " = :k" + j).append(" AND ");
+            }
+            alternatives.add(alternative.append(beyond).append(')').toString());
+        }
+        return alternatives.isEmpty() ? "1 = 0" : "(" + String.join(" OR ", alternatives) + ")";
+    }
+
+    // Rows that sort after the cursor value of key i, null when there are none
+    private static String beyond(SortKey key, int i, boolean cursorIsNull) {
+        String field = "e." + key.field();
+        if (cursorIsNull) {
+            return key.descending() ? null : field + " IS NOT NULL";
+        }
+        String after = field + (key.descending() ? " < :k" : " > :k") + i;
+        return key.nullable() && key.descending() ? "(" + after + " OR " + field + " IS NULL)" : after;
+    }
+
+    // "salary,desc" -> salary descending; id is appended (ascending) unless given explicitly
+    private static List<SortKey> sortKeys(List<String> sort) {
+        List<SortKey> keys = new ArrayList<>();
+        if (sort != null) {
+            for (String spec : sort) {
+                String[] parts = spec.split(",");
+                String field = parts[0].trim();
+                if (!SORT_KEYS.contains(field)) {
+                    throw new BadRequestException("Cannot sort by " + field + ", allowed: " + SORT_KEYS);
+                }
+                boolean descending = parts.length > 1 && "desc".equalsIgnoreCase(parts[1].trim());
+                if (keys.stream().anyMatch(k -> k.field().equals(field))) {
+                    throw new BadRequestException("Duplicate sort key: " + field);
+                }
+                keys.add(new SortKey(field, descending));
+                if ("id".equals(field)) {
+                    return keys;
+                }
+            }
+        }
+        keys.add(new SortKey("id", false));
+        return keys;
+    }
+
+    private static List<String> valuesOf(Employee employee, List<SortKey> keys) {
+        List<String> values = new ArrayList<>(keys.size());
+        for (SortKey key : keys) {
+            values.add(key.field().equals("salary") ? Objects.toString(employee.getSalary(), null) : key.text(employee));
+        }
+        return values;
+    }
+
+    private static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    private record SortKey(String field, boolean descending) {
+
+        // The other sort columns are NOT NULL
+        boolean nullable() {
+            return "email".equals(field);
+        }
+
+        String text(Employee employee) {
+            return switch (field) {
+                case "name" -> employee.getName();
+                case "dept" -> employee.getDept();
+                case "email" -> employee.getEmail();
+                default -> employee.getId();
+            };
+        }
+
+        // Same order as the ORDER BY: NULLs first ascending, last descending
+        Comparator<Employee> comparator() {
+            Comparator<Employee> ascending = "salary".equals(field)
+                    ? Comparator.comparing(Employee::getSalary, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    : Comparator.comparing(this::text, Comparator.nullsFirst(Comparator.naturalOrder()));
+            return descending ? ascending.reversed() : ascending;
+        }
+
+        Object parse(String value) {
+            if (!"salary".equals(field)) {
+                return value;
+            }
+            try {
+                return Double.valueOf(value);
+            } catch (NumberFormatException e) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+        }
+    }
+}
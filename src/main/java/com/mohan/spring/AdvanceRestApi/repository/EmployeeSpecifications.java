@@ -0,0 +1,40 @@
+package com.mohan.spring.AdvanceRestApi.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+
+// Filters of the list finders, for queries built at runtime (sparse fieldsets)
+public final class EmployeeSpecifications {
+
+    private EmployeeSpecifications() {
+    }
+
+    public static Specification<Employee> all() {
+        return (root, query, cb) -> null;
+    }
+
+    public static Specification<Employee> salaryBetween(double minSalary, double maxSalary) {
+        return (root, query, cb) -> cb.between(root.get("salary"), minSalary, maxSalary);
+    }
+
+    public static Specification<Employee> deptAndGender(String dept, String gender) {
+        return (root, query, cb) -> cb.and(cb.equal(root.get("dept"), dept), cb.equal(root.get("gender"), gender));
+    }
+
+    public static Specification<Employee> deptOrGender(String dept, String gender) {
+        return (root, query, cb) -> cb.or(cb.equal(root.get("dept"), dept), cb.equal(root.get("gender"), gender));
+    }
+
+    public static Specification<Employee> gender(String gender) {
+        return (root, query, cb) -> cb.equal(root.get("gender"), gender);
+    }
+
+    public static Specification<Employee> salaryGreaterThan(Double salary) {
+        return (root, query, cb) -> cb.greaterThan(root.get("salary"), salary);
+    }
+
+    public static Specification<Employee> salaryLessThan(Double salary) {
+        return (root, query, cb) -> cb.lessThan(root.get("salary"), salary);
+    }
+}
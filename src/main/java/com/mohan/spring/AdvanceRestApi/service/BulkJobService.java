@@ -0,0 +1,339 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.mohan.spring.AdvanceRestApi.exception.BadRequestException;
+import com.mohan.spring.AdvanceRestApi.exception.JobNotFoundException;
+import com.mohan.spring.AdvanceRestApi.model.BulkJob;
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+import com.mohan.spring.AdvanceRestApi.model.JobStatus;
+import com.mohan.spring.AdvanceRestApi.model.JobType;
+import com.mohan.spring.AdvanceRestApi.repository.BulkJobRepository;
+import com.mohan.spring.AdvanceRestApi.repository.EmployeeRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs bulk operations as background jobs.
+ *
+ * Work is done in chunks on a bounded executor. After every chunk the
+ * progress is written to the bulk_job table and the cancel flag is read back,
+ * so status and cancellation work from any node.
+ *
+ * Every queued or running job holds a lease (heartbeat_at) that its node
+ * renews a few times per employee.jobs.lease. Any node fails jobs whose lease
+ * expired, so jobs of a node that crashed or was scaled away do not stay
+ * RUNNING forever. On startup, jobs this node left unfinished are failed at once.
+ */
+@Service
+public class BulkJobService {
+
+	private static final Logger logger = LoggerFactory.getLogger(BulkJobService.class);
+
+    // Jobs queued or running on this node; their leases are renewed until they finish
+    private final Set<String> ownJobs = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService leaseKeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "bulk-job-lease");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    BulkJobRepository jobRepository;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    EmployeeChangeNotifier changeNotifier;
+
+    @Autowired
+    EmployeeShards employeeShards;
+
+    @Autowired
+    ObjectProvider<ShardRebalancer> shardRebalancer;
+
+    @Autowired
+    @Qualifier("bulkJobExecutor")
+    ThreadPoolTaskExecutor executor;
+
+    @Value("${employee.jobs.chunk-size:500}")
+    int chunkSize;
+
+    @Value("${employee.jobs.node-id:${HOSTNAME:local}}")
+    String nodeId;
+
+    @Value("${employee.jobs.lease:30s}")
+    Duration lease;
+
+    // Delete-all chunks go through the batch DELETE, which refuses more ids than this
+    @Value("${employee.batch.max-ids:1000}")
+    int maxBatchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        int interrupted = jobRepository.failUnfinished(nodeId, LocalDateTime.now());
+        if (interrupted > 0) {
+            logger.warn("Marked {} unfinished bulk job(s) of node {} as FAILED", interrupted, nodeId);
+        }
+        long renewEvery = Math.max(1, lease.toMillis() / 3);
+        leaseKeeper.scheduleWithFixedDelay(this::renewLeases, renewEvery, renewEvery, TimeUnit.MILLISECONDS);
+        leaseKeeper.scheduleWithFixedDelay(this::failExpiredJobs, lease.toMillis(), renewEvery, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        leaseKeeper.shutdownNow();
+    }
+
+    void renewLeases() {
+        try {
+            if (!ownJobs.isEmpty()) {
+                jobRepository.renewLeases(List.copyOf(ownJobs), LocalDateTime.now());
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not renew bulk job leases", e);
+        }
+    }
+
+    void failExpiredJobs() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int expired = jobRepository.failExpired(now.minus(lease), now);
+            if (expired > 0) {
+                logger.warn("Marked {} bulk job(s) with an expired lease as FAILED", expired);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Could not check bulk job leases", e);
+        }
+    }
+
+    public BulkJob submitBulkSave(List<Employee> employees) {
+        return submit(JobType.BULK_SAVE, employees.size(), progress -> runBulkSave(progress, employees));
+    }
+
+    public BulkJob submitDeleteAll() {
+        return submit(JobType.DELETE_ALL, employeeShards.sum(employeeRepository::count), this::runDeleteAll);
+    }
+
+    public BulkJob submitIncreaseSalary(String dept, double percent) {
+        return submit(JobType.INCREASE_SALARY, employeeShards.sum(() -> employeeRepository.countByDept(dept)),
+                progress -> runIncreaseSalary(progress, dept, percent));
+    }
+
+    // Moves id prefixes to other shards (prefix -> target shard), one after the other
+    public BulkJob submitShardMoves(Map<String, String> moves) {
+        ShardRebalancer rebalancer = shardRebalancer.getIfAvailable();
+        if (rebalancer == null) {
+            throw new BadRequestException("Sharding is not enabled (employee.shards.enabled)");
+        }
+        rebalancer.validate(moves);
+        logger.info("Shard moves requested: {}", moves);
+        return submit(JobType.SHARD_MOVE, rebalancer.rows(moves.keySet()),
+                progress -> runShardMoves(progress, rebalancer, moves));
+    }
+
+    public BulkJob getJob(String id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new JobNotFoundException("Job not found with id " + id));
+    }
+
+    // Cancellation is cooperative: the job stops after its current chunk
+    public BulkJob cancel(String id) {
+        BulkJob job = getJob(id);
+        if (jobRepository.requestCancel(id) > 0) {
+            logger.info("Cancel requested for job {}", id);
+            job.setCancelRequested(true);
+        }
+        return job;
+    }
+
+    private BulkJob submit(JobType type, long total, JobWork work) {
+        LocalDateTime now = LocalDateTime.now();
+        BulkJob job = new BulkJob(UUID.randomUUID().toString(), type, JobStatus.QUEUED, nodeId,
+                total, 0, 0, false, null, now, null, null, now);
+        jobRepository.save(job);
+        ownJobs.add(job.getId());
+        try {
+            executor.execute(() -> run(job.getId(), work));
+        } catch (TaskRejectedException e) {
+            ownJobs.remove(job.getId());
+            jobRepository.markFinished(job.getId(), JobStatus.FAILED, "Rejected: job queue is full", LocalDateTime.now());
+            throw e;
+        }
+        logger.info("Submitted {} job {} ({} rows)", type, job.getId(), total);
+        return job;
+    }
+
+    private void run(String jobId, JobWork work) {
+        try {
+            runOwned(jobId, work);
+        } finally {
+            ownJobs.remove(jobId);
+        }
+    }
+
+    private void runOwned(String jobId, JobWork work) {
+        Progress progress = new Progress(jobId);
+        if (progress.cancelRequested()) {
+            jobRepository.markFinished(jobId, JobStatus.CANCELLED, "Cancelled before start", LocalDateTime.now());
+            return;
+        }
+        jobRepository.markStarted(jobId, JobStatus.RUNNING, LocalDateTime.now());
+
+        JobStatus status;
+        String message = null;
+        try {
+            work.run(progress);
+            status = progress.cancelled ? JobStatus.CANCELLED : JobStatus.COMPLETED;
+        } catch (RuntimeException e) {
+            logger.error("Job {} failed", jobId, e);
+            status = JobStatus.FAILED;
+            message = e.getMessage();
+        }
+        jobRepository.updateProgress(jobId, progress.processed, progress.failed);
+        jobRepository.markFinished(jobId, status, message, LocalDateTime.now());
+        logger.info("Job {} finished: {} (processed {}, failed {})", jobId, status, progress.processed, progress.failed);
+    }
+
+    private void runBulkSave(Progress progress, List<Employee> employees) {
+        for (int from = 0; from < employees.size(); from += chunkSize) {
+            List<Employee> chunk = new ArrayList<>(employees.subList(from, Math.min(from + chunkSize, employees.size())));
+            int invalid = 0;
+            for (int i = chunk.size() - 1; i >= 0; i--) {
+                try {
+                    employeeService.validateAndNormalize(chunk.get(i));
+                } catch (RuntimeException e) {
+                    chunk.remove(i);
+                    invalid++;
+                }
+            }
+            try {
+                employeeService.insertNormalized(chunk);
+                progress.chunkDone(chunk.size(), invalid);
+            } catch (DataAccessException e) {
+                logger.error("Bulk save chunk at row {} failed", from, e);
+                progress.chunkDone(0, chunk.size() + invalid);
+            }
+            if (progress.shouldStop()) {
+                return;
+            }
+        }
+    }
+
+    private void runDeleteAll(Progress progress) {
+        // Deleted rows disappear, so the first page is always the next chunk
+        int size = Math.min(chunkSize, maxBatchSize);
+        List<String> ids;
+        while (!(ids = idPage(() -> employeeRepository.findIdsAfter("", PageRequest.of(0, size)), size)).isEmpty()) {
+            employeeService.deleteEmployees(ids);
+            progress.chunkDone(ids.size(), 0);
+            if (progress.shouldStop()) {
+                return;
+            }
+        }
+    }
+
+    private void runIncreaseSalary(Progress progress, String dept, double percent) {
+        try {
+            String after = "";
+            List<String> ids;
+            while (!(ids = nextIds(dept, after)).isEmpty()) {
+                int updated = employeeService.increaseSalaryForIds(dept, percent, ids);
+                progress.chunkDone(updated, ids.size() - updated);
+                after = ids.get(ids.size() - 1);
+                if (progress.shouldStop()) {
+                    return;
+                }
+            }
+        } finally {
+            // Each chunk recorded its outbox event; derived state for the department is rebuilt once
+            changeNotifier.refreshSalaries(dept, null);
+        }
+    }
+
+    // A move cannot be cancelled halfway; cancellation takes effect between prefixes
+    private void runShardMoves(Progress progress, ShardRebalancer rebalancer, Map<String, String> moves) {
+        for (Map.Entry<String, String> move : moves.entrySet()) {
+            rebalancer.move(move.getKey(), move.getValue(), rows -> progress.chunkDone(rows, 0));
+            if (progress.shouldStop()) {
+                return;
+            }
+        }
+    }
+
+    private List<String> nextIds(String dept, String after) {
+        return idPage(() -> employeeRepository.findIdsByDeptAfter(dept, after, page()), chunkSize);
+    }
+
+    // First size ids over every shard
+    private List<String> idPage(Supplier<List<String>> query, int size) {
+        return employeeShards.gather(query, Comparator.naturalOrder(), size);
+    }
+
+    private Pageable page() {
+        return PageRequest.of(0, chunkSize);
+    }
+
+    @FunctionalInterface
+    private interface JobWork {
+        void run(Progress progress);
+    }
+
+    // Progress of one running job, flushed to the database after each chunk
+    private final class Progress {
+        private final String jobId;
+        long processed;
+        long failed;
+        boolean cancelled;
+
+        Progress(String jobId) {
+            this.jobId = jobId;
+        }
+
+        void chunkDone(long ok, long failures) {
+            processed += ok;
+            failed += failures;
+            jobRepository.updateProgress(jobId, processed, failed);
+        }
+
+        boolean cancelRequested() {
+            return jobRepository.isCancelRequested(jobId).orElse(false);
+        }
+
+        boolean shouldStop() {
+            cancelled = cancelRequested();
+            return cancelled;
+        }
+    }
+}
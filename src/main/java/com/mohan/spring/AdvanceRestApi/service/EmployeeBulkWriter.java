@@ -0,0 +1,60 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Inserts new employees with JDBC batching.
+ *
+ * Every entity is persisted (never merged), so there is no SELECT per row, and
+ * the persistence context is flushed and cleared every batch-size rows so the
+ * first-level cache does not grow with the upload. The batch size should match
+ * hibernate.jdbc.batch_size in application.properties.
+ *
+ * A @Repository so that Hibernate failures (e.g. a duplicate email) come out
+ * as DataAccessException, as they do from the Spring Data repositories.
+ */
+@Repository
+public class EmployeeBulkWriter {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeBulkWriter.class);
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Value("${employee.bulk.batch-size:500}")
+    int batchSize;
+
+    // Persist all employees in one transaction, flushing per batch
+    @Transactional
+    public List<Employee> insertAll(List<Employee> employees) {
+        long batchStart = System.nanoTime();
+        int batchNo = 0;
+
+        for (int i = 0; i < employees.size(); i++) {
+            entityManager.persist(employees.get(i));
+
+            boolean endOfBatch = (i + 1) % batchSize == 0 || i == employees.size() - 1;
+            if (endOfBatch) {
+                entityManager.flush();
+                entityManager.clear();
+                batchNo++;
+                long now = System.nanoTime();
+                logger.info("Bulk insert batch {} flushed: {} rows in {} ms",
+                        batchNo, (i % batchSize) + 1, (now - batchStart) / 1_000_000);
+                batchStart = now;
+            }
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,128 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSnapshot;
+
+/**
+ * Bounded read-through cache for single-employee lookups by id and by email.
+ *
+ * Caffeine evicts by size (W-TinyLFU) and by TTL. Lookups that found nothing
+ * are cached as Optional.empty() with a shorter TTL. Entries are evicted from
+ * every write path through EmployeeChangeListener. Hit/miss counters are
+ * published as cache.* meters.
+ */
+@Component
+public class EmployeeCache implements EmployeeChangeListener, MeterBinder {
+
+    private final Cache<String, Optional<Employee>> byId;
+    private final Cache<String, Optional<Employee>> byEmail;
+
+    public EmployeeCache(@Value("${employee.cache.max-size:10000}") long maxSize,
+                         @Value("${employee.cache.ttl:10m}") Duration ttl,
+                         @Value("${employee.cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.byId = build(maxSize, ttl, negativeTtl);
+        this.byEmail = build(maxSize, ttl, negativeTtl);
+    }
+
+    private static Cache<String, Optional<Employee>> build(long maxSize, Duration ttl, Duration negativeTtl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Optional<Employee>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<Employee> value, long currentTime) {
+                        return (value.isPresent() ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<Employee> value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<Employee> value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Employee> getById(String id, Function<String, Optional<Employee>> loader) {
+        return byId.get(id, loader);
+    }
+
+    // Cached lookup result without loading: null when nothing is cached for the id
+    public Optional<Employee> peekById(String id) {
+        return byId.getIfPresent(id);
+    }
+
+    public Optional<Employee> getByEmail(String email, Function<String, Optional<Employee>> loader) {
+        return byEmail.get(email, loader);
+    }
+
+    // Drop everything cached for the old and new state, including negative entries for the id/email
+    @Override
+    public void employeeChanged(EmployeeSnapshot before, EmployeeSnapshot after) {
+        evict(before);
+        evict(after);
+    }
+
+    // Bulk statements change rows we cannot enumerate cheaply, so start over
+    @Override
+    public void employeesChanged(String dept, String gender) {
+        byId.invalidateAll();
+        byEmail.invalidateAll();
+    }
+
+    private void evict(EmployeeSnapshot employee) {
+        if (employee == null) {
+            return;
+        }
+        byId.invalidate(employee.id());
+        if (employee.email() != null) {
+            byEmail.invalidate(employee.email());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byId, "employee.byId");
+        CaffeineCacheMetrics.monitor(registry, byEmail, "employee.byEmail");
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("byId", describe(byId));
+        stats.put("byEmail", describe(byEmail));
+        return stats;
+    }
+
+    private static Map<String, Object> describe(Cache<String, Optional<Employee>> cache) {
+        CacheStats s = cache.stats();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("size", cache.estimatedSize());
+        m.put("hits", s.hitCount());
+        m.put("misses", s.missCount());
+        m.put("hitRate", s.hitRate());
+        m.put("evictions", s.evictionCount());
+        return m;
+    }
+}
@@ -0,0 +1,343 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.mohan.spring.AdvanceRestApi.exception.ChangesPurgedException;
+import com.mohan.spring.AdvanceRestApi.model.EmployeeChange;
+import com.mohan.spring.AdvanceRestApi.repository.EmployeeChangeRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Publishes the outbox to SSE and NDJSON subscribers.
+ *
+ * A single poller reads new events once, woken after each commit that wrote
+ * some and every poll interval for writes made by other nodes. The events go
+ * into a shared buffer of recent events. Subscribers hold no thread and no
+ * queue, only the offset they have received.
+ *
+ * When events arrive, each subscriber that is behind gets one delivery task on
+ * the fan-out pool. The task sends at most one batch in a single write, then
+ * re-queues itself if the subscriber is still behind. This gives backpressure:
+ * a slow client has one batch in flight and only falls further behind. A
+ * client older than the buffer catches up from the outbox table. Offsets are
+ * gap-free, so a resume point whose next event was already purged is
+ * detected: subscribe() refuses it (410) and a stream that runs into a purge
+ * is closed.
+ */
+@Component
+public class EmployeeChangeFeed {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "change-feed-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean wakeQueued = new AtomicBoolean();
+    private final RecentChanges recent;
+
+    // Newest offset read from the outbox; subscribers are never sent anything beyond it
+    private volatile long lastOffset;
+    private volatile boolean started;
+
+    @Value("${employee.changes.enabled:true}")
+    boolean enabled;
+
+    @Autowired
+    EmployeeChangeRepository changeRepository;
+
+    @Autowired
+    @Qualifier("changeFeedExecutor")
+    ThreadPoolTaskExecutor fanOutExecutor;
+
+    @Value("${employee.changes.batch-size:500}")
+    int batchSize;
+
+    @Value("${employee.changes.poll-interval:1s}")
+    Duration pollInterval;
+
+    @Value("${employee.changes.heartbeat:30s}")
+    Duration heartbeat;
+
+    @Value("${employee.changes.emitter-timeout:30m}")
+    Duration emitterTimeout;
+
+    @Value("${employee.changes.retention:7d}")
+    Duration retention;
+
+    public EmployeeChangeFeed(@Value("${employee.changes.buffer-size:10000}") int bufferSize) {
+        this.recent = new RecentChanges(bufferSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // Replicas measure their lag by the outbox, so it is purged even without subscribers
+        poller.scheduleWithFixedDelay(this::purge, 0, 1, TimeUnit.HOURS);
+        if (!enabled) {
+            logger.info("Employee change feed is disabled (employee.changes.enabled)");
+            return;
+        }
+        lastOffset = changeRepository.findLastOffset().orElse(0L);
+        started = true;
+        poller.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Employee change feed started at offset {}", lastOffset);
+    }
+
+    @PreDestroy
+    public void stop() {
+        poller.shutdownNow();
+        subscribers.forEach(s -> s.emitter.complete());
+    }
+
+    // Called after a commit that wrote events; many wake-ups collapse into one poll
+    public void wake() {
+        if (started && wakeQueued.compareAndSet(false, true)) {
+            poller.execute(() -> {
+                wakeQueued.set(false);
+                poll();
+            });
+        }
+    }
+
+    // Stream events after the given offset (null = only new ones) as SSE or NDJSON
+    public ResponseBodyEmitter subscribe(Long after, boolean sse) {
+        if (after != null && after < lastOffset) {
+            long oldest = changeRepository.findFirstOffset().orElse(lastOffset + 1);
+            if (after + 1 < oldest) {
+                throw purged(after, oldest);
+            }
+        }
+        long timeout = emitterTimeout.toMillis();
+        ResponseBodyEmitter emitter = sse ? new SseEmitter(timeout) : new ResponseBodyEmitter(timeout);
+        Subscriber subscriber = new Subscriber(emitter, sse, after != null ? after : lastOffset);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        logger.info("Change feed subscriber added from offset {} ({} subscribers)", subscriber.offset, subscribers.size());
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void poll() {
+        try {
+            boolean added = false;
+            List<EmployeeChange> batch;
+            do {
+                batch = changeRepository.findAfter(lastOffset, PageRequest.of(0, batchSize));
+                if (!batch.isEmpty()) {
+                    recent.addAll(batch);
+                    lastOffset = batch.get(batch.size() - 1).getChangeOffset();
+                    added = true;
+                }
+            } while (batch.size() == batchSize);
+
+            if (added) {
+                subscribers.forEach(this::schedule);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Change feed poll failed", e);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.offset < lastOffset && subscriber.busy.compareAndSet(false, true)) {
+            fanOutExecutor.execute(() -> deliver(subscriber));
+        }
+    }
+
+    // One batch per task, so a slow subscriber never holds a fan-out thread for long
+    private void deliver(Subscriber subscriber) {
+        try {
+            List<EmployeeChange> batch = recent.after(subscriber.offset, batchSize, lastOffset);
+            if (batch == null) {
+                batch = changeRepository.findAfter(subscriber.offset, PageRequest.of(0, batchSize));
+                // The subscriber is behind lastOffset, so an empty batch means its next events were purged too
+                long next = batch.isEmpty() ? lastOffset + 1 : batch.get(0).getChangeOffset();
+                if (next > subscriber.offset + 1) {
+                    drop(subscriber, purged(subscriber.offset, next));
+                    return;
+                }
+            }
+            if (!batch.isEmpty()) {
+                subscriber.send(batch);
+                subscriber.offset = batch.get(batch.size() - 1).getChangeOffset();
+            }
+        } catch (IOException | IllegalStateException e) {
+            drop(subscriber, e);
+            return;
+        } catch (RuntimeException e) {
+            // E.g. the database is down: retried on the next poll that finds events or the next heartbeat,
+            // not straight away, which would spin every lagging subscriber on the fan-out pool
+            logger.warn("Change feed delivery failed", e);
+            return;
+        } finally {
+            subscriber.busy.set(false);
+        }
+        schedule(subscriber);
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.busy.compareAndSet(false, true)) {
+                fanOutExecutor.execute(() -> {
+                    try {
+                        subscriber.heartbeat();
+                    } catch (IOException | IllegalStateException e) {
+                        drop(subscriber, e);
+                        return;
+                    } finally {
+                        subscriber.busy.set(false);
+                    }
+                    // Events that arrived during the heartbeat skipped this subscriber
+                    schedule(subscriber);
+                });
+            }
+        }
+    }
+
+    private void drop(Subscriber subscriber, Exception cause) {
+        if (subscribers.remove(subscriber)) {
+            logger.info("Change feed subscriber at offset {} disconnected: {}", subscriber.offset, cause.getMessage());
+            subscriber.emitter.completeWithError(cause);
+        }
+    }
+
+    private static ChangesPurgedException purged(long after, long oldest) {
+        return new ChangesPurgedException("Change feed events after offset " + after + " were purged (oldest kept: "
+                + oldest + "); reload the employees and subscribe without after");
+    }
+
+    private void purge() {
+        try {
+            int purged = changeRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+            if (purged > 0) {
+                logger.info("Purged {} change feed events older than {}", purged, retention);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Change feed purge failed", e);
+        }
+    }
+
+    private static final class Subscriber {
+
+        final ResponseBodyEmitter emitter;
+        final boolean sse;
+        final AtomicBoolean busy = new AtomicBoolean();
+        volatile long offset;
+
+        Subscriber(ResponseBodyEmitter emitter, boolean sse, long offset) {
+            this.emitter = emitter;
+            this.sse = sse;
+            this.offset = offset;
+        }
+
+        // The whole batch goes out in one write and flush
+        void send(List<EmployeeChange> batch) throws IOException {
+            Set<ResponseBodyEmitter.DataWithMediaType> items = new LinkedHashSet<>();
+            for (EmployeeChange change : batch) {
+                if (sse) {
+                    items.addAll(SseEmitter.event()
+                            .id(String.valueOf(change.getChangeOffset()))
+                            .name("employee-change")
+                            .data(change, MediaType.APPLICATION_JSON)
+                            .build());
+                } else {
+                    items.add(new ResponseBodyEmitter.DataWithMediaType(change, MediaType.APPLICATION_JSON));
+                    items.add(new ResponseBodyEmitter.DataWithMediaType("\n", MediaType.TEXT_PLAIN));
+                }
+            }
+            emitter.send(items);
+        }
+
+        // Keeps proxies from closing idle streams and detects dead clients
+        void heartbeat() throws IOException {
+            if (sse) {
+                ((SseEmitter) emitter).send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            }
+        }
+    }
+
+    // Ring of the newest events; offsets are gap-free, so an offset maps straight to a slot
+    private static final class RecentChanges {
+
+        private final EmployeeChange[] ring;
+        private long firstOffset;
+        private int count;
+
+        RecentChanges(int capacity) {
+            this.ring = new EmployeeChange[capacity];
+        }
+
+        synchronized void addAll(List<EmployeeChange> changes) {
+            for (EmployeeChange change : changes) {
+                long offset = change.getChangeOffset();
+                if (count > 0 && offset != firstOffset + count) {
+                    // Not contiguous (events purged or buffer reset): start over from this event
+                    count = 0;
+                }
+                if (count == 0) {
+                    firstOffset = offset;
+                }
+                if (count == ring.length) {
+                    firstOffset++;
+                    count--;
+                }
+                ring[slot(offset)] = change;
+                count++;
+            }
+        }
+
+        // Up to max events after `after` and not beyond `upTo`; null when `after` is older than the buffer
+        synchronized List<EmployeeChange> after(long after, int max, long upTo) {
+            if (count == 0 || after + 1 < firstOffset) {
+                return null;
+            }
+            long end = Math.min(Math.min(firstOffset + count - 1, upTo), after + max);
+            List<EmployeeChange> changes = new ArrayList<>((int) Math.max(0, end - after));
+            for (long offset = after + 1; offset <= end; offset++) {
+                changes.add(ring[slot(offset)]);
+            }
+            return changes;
+        }
+
+        private int slot(long offset) {
+            return (int) (offset % ring.length);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSnapshot;
+
+/**
+ * Receives every committed write made through EmployeeService.
+ * Implement it on any component that keeps derived state (caches, aggregates, indexes).
+ */
+public interface EmployeeChangeListener {
+
+    // A single employee was inserted (before == null), updated, or deleted (after == null)
+    default void employeeChanged(EmployeeSnapshot before, EmployeeSnapshot after) {
+    }
+
+    // A set-based statement changed an unknown set of rows; null dept/gender means "any"
+    default void employeesChanged(String dept, String gender) {
+    }
+
+    // Like employeesChanged, but the statement only changed salaries: no row was added, removed or renamed
+    default void salariesChanged(String dept, String gender) {
+        employeesChanged(dept, gender);
+    }
+}
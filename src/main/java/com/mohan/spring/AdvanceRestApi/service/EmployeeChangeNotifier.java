@@ -0,0 +1,96 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.mohan.spring.AdvanceRestApi.model.ChangeType;
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSnapshot;
+
+/**
+ * Records every employee write in the outbox and fans it out to every
+ * EmployeeChangeListener.
+ *
+ * The outbox event is part of the caller's transaction. Inside a transaction
+ * listener notification is deferred until after commit, so listeners never
+ * see rolled-back changes. A failing listener is logged and does not affect
+ * the write or the other listeners.
+ */
+@Component
+public class EmployeeChangeNotifier {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeChangeNotifier.class);
+
+    @Lazy
+    @Autowired
+    List<EmployeeChangeListener> listeners;
+
+    @Autowired
+    EmployeeOutbox outbox;
+
+    public void inserted(Employee after) {
+        changed(null, EmployeeSnapshot.of(after));
+    }
+
+    public void deleted(EmployeeSnapshot before) {
+        changed(before, null);
+    }
+
+    public void changed(EmployeeSnapshot before, EmployeeSnapshot after) {
+        EmployeeSnapshot employee = after != null ? after : before;
+        ChangeType type = before == null ? ChangeType.INSERT : after == null ? ChangeType.DELETE : ChangeType.UPDATE;
+        outbox.append(type, employee, employee.dept(), employee.gender());
+        dispatch(listener -> listener.employeeChanged(before, after));
+    }
+
+    // Outbox only, for set-based statements limited to dept/gender (null = any), possibly run in chunks
+    // or per shard: the caller refreshes listeners once all of them are done
+    public void recordBulkUpdate(String dept, String gender) {
+        outbox.append(ChangeType.BULK_UPDATE, null, dept, gender);
+    }
+
+    public void recordBulkDelete(String dept, String gender) {
+        outbox.append(ChangeType.BULK_DELETE, null, dept, gender);
+    }
+
+    // Listeners only: rebuild derived state for rows changed by set-based statements
+    public void refresh(String dept, String gender) {
+        dispatch(listener -> listener.employeesChanged(dept, gender));
+    }
+
+    // Listeners only, after set-based UPDATEs that change salaries and nothing else
+    public void refreshSalaries(String dept, String gender) {
+        dispatch(listener -> listener.salariesChanged(dept, gender));
+    }
+
+    private void dispatch(Consumer<EmployeeChangeListener> event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deliver(event);
+                }
+            });
+        } else {
+            deliver(event);
+        }
+    }
+
+    private void deliver(Consumer<EmployeeChangeListener> event) {
+        for (EmployeeChangeListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                logger.error("Employee change listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
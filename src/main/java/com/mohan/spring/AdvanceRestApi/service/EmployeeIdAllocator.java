@@ -0,0 +1,167 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.time.Year;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mohan.spring.AdvanceRestApi.model.EmployeeIdSequence;
+import com.mohan.spring.AdvanceRestApi.repository.EmployeeIdSequenceRepository;
+import com.mohan.spring.AdvanceRestApi.repository.EmployeeRepository;
+
+/**
+ * Hands out employee IDs (e.g. HR2025-001) per department and year.
+ *
+ * IDs are reserved from the employee_id_sequence table in blocks (hi/lo), so
+ * only one insert in every block-size touches the sequence row. The persisted
+ * value is always past every ID handed out, so a restart skips the unused tail
+ * of a block instead of reusing IDs.
+ */
+@Component
+public class EmployeeIdAllocator {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeIdAllocator.class);
+
+    // Every prefix prefixFor() can return
+    static final List<String> PREFIXES = List.of("HR", "DEV", "TEST", "GEN");
+
+    private final ConcurrentMap<String, IdBlock> blocks = new ConcurrentHashMap<>();
+
+    @Autowired
+    EmployeeIdSequenceRepository sequenceRepository;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    EmployeeShards employeeShards;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Value("${employee.id.block-size:50}")
+    int blockSize;
+
+    /**
+     * Next ID for the department, e.g. HR2025-001.
+     *
+     * When the block runs out one caller reserves the next one while the others
+     * for that key wait; the reservation takes a connection of its own, so it
+     * runs without the lock, and callers must not hold a connection themselves
+     * (EmployeeService allocates before its transaction starts).
+     */
+    public String nextId(String dept) {
+        String prefix = prefixFor(dept);
+        String year = String.valueOf(Year.now().getValue());
+        String key = prefix + year;
+
+        IdBlock block = blocks.computeIfAbsent(key, k -> new IdBlock());
+        long value;
+        // A ReentrantLock rather than synchronized: waiting for a reservation inside a
+        // synchronized block would pin the carrier thread of a virtual thread
+        block.lock.lock();
+        try {
+            while (block.next >= block.limit) {
+                if (block.reserving) {
+                    block.reserved.awaitUninterruptibly();
+                    continue;
+                }
+                block.reserving = true;
+                block.lock.unlock();
+                long first;
+                try {
+                    // The sequence row lives on the prefix's shard
+                    first = employeeShards.on(employeeShards.shardOfPrefix(prefix), () -> reserve(key));
+                } finally {
+                    block.lock.lock();
+                    block.reserving = false;
+                    block.reserved.signalAll();
+                }
+                block.next = first;
+                block.limit = first + blockSize;
+                logger.debug("Reserved ids {}..{} for {}", block.next, block.limit - 1, key);
+            }
+            value = block.next++;
+        } finally {
+            block.lock.unlock();
+        }
+        return format(prefix, year, value);
+    }
+
+    static String prefixFor(String dept) {
+        switch (dept.toLowerCase()) {
+            case "hr":
+                return "HR";
+            case "developer":
+            case "dev":
+                return "DEV";
+            case "tester":
+            case "test":
+                return "TEST";
+            default:
+                return "GEN";
+        }
+    }
+
+    static String format(String prefix, String year, long value) {
+        return String.format("%s%s-%03d", prefix, year, value);
+    }
+
+    // Reserve the next block in its own transaction so the row lock is held only briefly; returns its first value
+    private long reserve(String key) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        try {
+            return tx.execute(status -> reserveBlock(key));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the sequence row first; it exists now, so lock it
+            logger.debug("Sequence {} created concurrently, retrying reservation", key);
+            return tx.execute(status -> reserveBlock(key));
+        }
+    }
+
+    private long reserveBlock(String key) {
+        EmployeeIdSequence sequence = sequenceRepository.findForUpdate(key)
+                .orElseGet(() -> sequenceRepository.saveAndFlush(
+                        new EmployeeIdSequence(key, highestIssued(key) + 1)));
+
+        long first = sequence.getNextValue();
+        sequence.setNextValue(first + blockSize);
+        return first;
+    }
+
+    // Seed a new sequence from IDs already in the table (e.g. issued by the old count() scheme)
+    private long highestIssued(String key) {
+        List<String> ids = employeeRepository.findIdsByPrefix(key + "-");
+        long max = 0;
+        for (String id : ids) {
+            try {
+                max = Math.max(max, Long.parseLong(id.substring(key.length() + 1)));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring non-numeric employee id {} while seeding {}", id, key);
+            }
+        }
+        return max;
+    }
+
+    private static final class IdBlock {
+        final ReentrantLock lock = new ReentrantLock();
+        final Condition reserved = lock.newCondition();
+        long next;
+        long limit;
+        boolean reserving;
+    }
+}
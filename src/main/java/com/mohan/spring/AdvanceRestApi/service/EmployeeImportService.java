@@ -0,0 +1,183 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+import com.mohan.spring.AdvanceRestApi.model.ImportSummary;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Streams NDJSON or CSV employee uploads record by record.
+ *
+ * Only one chunk of valid employees is held in memory at a time; each chunk is
+ * inserted in its own transaction through the batch insert path, so memory use
+ * does not depend on the size of the upload.
+ */
+@Service
+public class EmployeeImportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Value("${employee.import.chunk-size:1000}")
+    int chunkSize;
+
+    @Value("${employee.import.max-reported-errors:1000}")
+    int maxReportedErrors;
+
+    public ImportSummary importNdjson(InputStream in) throws IOException {
+        MappingIterator<Employee> records = objectMapper.readerFor(Employee.class).readValues(in);
+        return importRecords(records);
+    }
+
+    public ImportSummary importCsv(InputStream in) throws IOException {
+        CsvSchema schema = CsvSchema.emptySchema().withHeader();
+        MappingIterator<Employee> records = csvMapper.readerFor(Employee.class).with(schema).readValues(in);
+        return importRecords(records);
+    }
+
+    private ImportSummary importRecords(MappingIterator<Employee> records) throws IOException {
+        ImportSummary summary = new ImportSummary();
+        List<Employee> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkLines = new ArrayList<>(chunkSize);
+
+        try (records) {
+            while (true) {
+                long line;
+                Employee employee;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    line = records.getParser().currentTokenLocation().getLineNr();
+                    employee = records.nextValue();
+                } catch (JsonParseException e) {
+                    // Malformed input: the parser cannot resynchronise, so stop here
+                    reject(summary, e.getLocation() == null ? -1 : e.getLocation().getLineNr(),
+                            "Malformed input: " + e.getOriginalMessage());
+                    summary.setAborted(true);
+                    break;
+                } catch (JsonMappingException e) {
+                    reject(summary, e.getLocation() == null ? -1 : e.getLocation().getLineNr(),
+                            "Invalid record: " + e.getOriginalMessage());
+                    continue;
+                }
+
+                String error = validate(employee);
+                if (error != null) {
+                    reject(summary, line, error);
+                    continue;
+                }
+
+                chunk.add(employee);
+                chunkLines.add(line);
+                if (chunk.size() == chunkSize) {
+                    flushChunk(chunk, chunkLines, summary);
+                }
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            flushChunk(chunk, chunkLines, summary);
+        }
+        logger.info("Import finished. Accepted: {}, Rejected: {}, Aborted: {}",
+                summary.getAccepted(), summary.getRejected(), summary.isAborted());
+        return summary;
+    }
+
+    // Bean validation + normalization; returns the error message or null when the record is valid
+    private String validate(Employee employee) {
+        Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        try {
+            employeeService.validateAndNormalize(employee);
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private void flushChunk(List<Employee> chunk, List<Long> lines, ImportSummary summary) {
+        try {
+            employeeService.insertNormalized(chunk);
+            summary.setAccepted(summary.getAccepted() + chunk.size());
+        } catch (DataIntegrityViolationException e) {
+            // e.g. a duplicate email: find the offending records instead of rejecting the whole chunk
+            logger.warn("Import chunk starting at line {} violated a constraint, retrying it row by row", lines.get(0));
+            insertOneByOne(chunk, lines, summary);
+        } catch (DataAccessException e) {
+            logger.error("Import chunk starting at line {} failed", lines.get(0), e);
+            summary.setRejected(summary.getRejected() + chunk.size() - 1);
+            reject(summary, lines.get(0), "Chunk of " + chunk.size() + " records (lines " + lines.get(0) + "-"
+                    + lines.get(lines.size() - 1) + ") failed to save: " + e.getMostSpecificCause().getMessage());
+        }
+        chunk.clear();
+        lines.clear();
+    }
+
+    private void insertOneByOne(List<Employee> chunk, List<Long> lines, ImportSummary summary) {
+        for (int i = 0; i < chunk.size(); i++) {
+            Employee employee = chunk.get(i);
+            // With sharding the chunk commits per shard, so part of it may have been saved already
+            if (employee.getId() != null && employeeService.exists(employee.getId())) {
+                summary.setAccepted(summary.getAccepted() + 1);
+                continue;
+            }
+            // The failed attempt left its id and version on the entity
+            employee.setId(null);
+            employee.setVersion(null);
+            try {
+                employeeService.insertNormalized(List.of(employee));
+                summary.setAccepted(summary.getAccepted() + 1);
+            } catch (DataAccessException e) {
+                reject(summary, lines.get(i), "Failed to save: " + e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+
+    private void reject(ImportSummary summary, long line, String message) {
+        summary.setRejected(summary.getRejected() + 1);
+        if (summary.getErrors().size() < maxReportedErrors) {
+            summary.getErrors().add(new ImportSummary.LineError(line, message));
+        }
+    }
+}
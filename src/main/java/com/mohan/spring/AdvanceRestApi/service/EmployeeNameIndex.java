@@ -0,0 +1,371 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSnapshot;
+import com.mohan.spring.AdvanceRestApi.model.NameMatch;
+import com.mohan.spring.AdvanceRestApi.repository.EmployeeRepository;
+
+/**
+ * In-memory trigram index over employee names and email local parts, for
+ * partial and misspelt name search.
+ *
+ * Each word is padded ("  word ") and split into trigrams. Every trigram maps
+ * to the list of documents that contain it, in ascending document order.
+ *
+ * A query needing t of its q trigrams only has to read the q - t + 1 shortest
+ * lists to find every candidate (prefix filtering). Each candidate is then
+ * counted against the longer lists by binary search. Frequent trigrams are
+ * therefore never scanned, and a query stays well under a millisecond at a
+ * million employees. Candidates rank by the share of query trigrams they
+ * contain, then by similarity of the whole text.
+ *
+ * Built at startup and kept current through EmployeeChangeListener. An
+ * updated or deleted employee leaves a dead document behind. Once more than a
+ * quarter of the documents are dead, the lists are compacted.
+ *
+ * A bulk change reads the affected rows before taking the write lock, so
+ * searches and single changes go on meanwhile. Employees changed one by one
+ * during the read keep the state those changes gave them.
+ */
+@Component
+public class EmployeeNameIndex implements EmployeeChangeListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeNameIndex.class);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final double minSimilarity;
+
+    private List<Doc> docs = new ArrayList<>();
+    private BitSet dead = new BitSet();
+    private Map<String, Integer> docById = new HashMap<>();
+    private Map<Long, Postings> postings = new HashMap<>();
+
+    // Single changes so far, and while a reload reads rows, the number of each employee's last change
+    private long changes;
+    private int reloads;
+    private final Map<String, Long> changedAt = new HashMap<>();
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    EmployeeShards employeeShards;
+
+    public EmployeeNameIndex(@Value("${employee.name-index.min-similarity:0.3}") double minSimilarity) {
+        this.minSimilarity = minSimilarity;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        lock.writeLock().lock();
+        try {
+            docs = new ArrayList<>();
+            dead = new BitSet();
+            docById = new HashMap<>();
+            postings = new HashMap<>();
+            List<Object[]> rows = load(null, null);
+            rows.forEach(this::add);
+            logger.info("Built employee name index from {} rows ({} distinct trigrams)", rows.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void employeeChanged(EmployeeSnapshot before, EmployeeSnapshot after) {
+        if (before != null && after != null && Objects.equals(before.name(), after.name())
+                && Objects.equals(before.email(), after.email()) && Objects.equals(before.dept(), after.dept())
+                && Objects.equals(before.gender(), after.gender())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            changes++;
+            if (reloads > 0) {
+                changedAt.put(before != null ? before.id() : after.id(), changes);
+            }
+            if (before != null) {
+                remove(before.id());
+            }
+            if (after != null) {
+                add(after.id(), after.name(), after.email(), after.dept(), after.gender());
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Salary-only bulk updates leave every indexed field as it was
+    @Override
+    public void salariesChanged(String dept, String gender) {
+    }
+
+    // Reload the affected rows; covers bulk deletes
+    @Override
+    public void employeesChanged(String dept, String gender) {
+        long since;
+        lock.writeLock().lock();
+        try {
+            since = changes;
+            reloads++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            List<Object[]> rows = load(dept, gender);
+            lock.writeLock().lock();
+            try {
+                for (int doc = 0; doc < docs.size(); doc++) {
+                    Doc d = docs.get(doc);
+                    if (!dead.get(doc) && (dept == null || dept.equals(d.dept())) && (gender == null || gender.equals(d.gender()))
+                            && !changedSince(d.id(), since)) {
+                        dead.set(doc);
+                        docById.remove(d.id());
+                    }
+                }
+                for (Object[] row : rows) {
+                    if (!changedSince((String) row[0], since)) {
+                        add(row);
+                    }
+                }
+                compactIfNeeded();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (--reloads == 0) {
+                    changedAt.clear();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Top `limit` employees whose name or email local part matches the query, best first
+    public List<NameMatch> search(String query, int limit) {
+        Set<Long> grams = trigrams(normalize(query));
+        if (grams.isEmpty()) {
+            return List.of();
+        }
+        int required = Math.max(1, (int) Math.ceil(grams.size() * minSimilarity));
+
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[grams.size()];
+            int n = 0;
+            for (Long gram : grams) {
+                lists[n++] = postings.getOrDefault(gram, Postings.EMPTY);
+            }
+            Arrays.sort(lists, Comparator.comparingInt(p -> p.size));
+
+            // Any document with `required` matches appears in one of the first q - required + 1 lists
+            int probe = lists.length - required + 1;
+            Map<Integer, Integer> hits = new HashMap<>();
+            for (int i = 0; i < probe; i++) {
+                Postings list = lists[i];
+                for (int j = 0; j < list.size; j++) {
+                    hits.merge(list.docs[j], 1, Integer::sum);
+                }
+            }
+
+            PriorityQueue<Ranked> top = new PriorityQueue<>(limit + 1, Ranked.ORDER);
+            for (Map.Entry<Integer, Integer> hit : hits.entrySet()) {
+                int doc = hit.getKey();
+                if (dead.get(doc)) {
+                    continue;
+                }
+                int matched = hit.getValue();
+                for (int i = probe; i < lists.length; i++) {
+                    if (lists[i].contains(doc)) {
+                        matched++;
+                    }
+                }
+                if (matched < required) {
+                    continue;
+                }
+                Doc d = docs.get(doc);
+                double coverage = (double) matched / grams.size();
+                double similarity = (double) matched / (grams.size() + d.trigramCount() - matched);
+                top.add(new Ranked(d, coverage, similarity));
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            NameMatch[] result = new NameMatch[top.size()];
+            for (int i = result.length - 1; i >= 0; i--) {
+                Ranked r = top.poll();
+                result[i] = new NameMatch(r.doc().id(), r.doc().name(), r.doc().email(), r.doc().dept(),
+                        Math.round(r.coverage() * 1000) / 1000.0);
+            }
+            return Arrays.asList(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // id, name, email, dept, gender of the matching employees on every shard
+    private List<Object[]> load(String dept, String gender) {
+        List<Object[]> rows = new ArrayList<>();
+        for (String shard : employeeShards.shards()) {
+            employeeShards.inTransaction(shard, true, () -> {
+                try (Stream<Object[]> facts = employeeRepository.streamNameFacts(dept, gender)) {
+                    facts.forEach(rows::add);
+                }
+                return null;
+            });
+        }
+        return rows;
+    }
+
+    private boolean changedSince(String id, long since) {
+        Long at = changedAt.get(id);
+        return at != null && at > since;
+    }
+
+    private void add(Object[] row) {
+        add((String) row[0], (String) row[1], (String) row[2], (String) row[3], (String) row[4]);
+    }
+
+    private void add(String id, String name, String email, String dept, String gender) {
+        remove(id);
+        Set<Long> grams = trigrams(normalize(name) + " " + normalize(localPart(email)));
+        int doc = docs.size();
+        docs.add(new Doc(id, name, email, dept, gender, grams.size()));
+        docById.put(id, doc);
+        for (Long gram : grams) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(doc);
+        }
+    }
+
+    private void remove(String id) {
+        Integer doc = docById.remove(id);
+        if (doc != null) {
+            dead.set(doc);
+        }
+    }
+
+    // Renumber the live documents and rebuild the lists without the dead ones
+    private void compactIfNeeded() {
+        int deadCount = dead.cardinality();
+        if (deadCount < 1024 || deadCount * 4 < docs.size()) {
+            return;
+        }
+        List<Doc> live = new ArrayList<>(docs.size() - deadCount);
+        for (int doc = 0; doc < docs.size(); doc++) {
+            if (!dead.get(doc)) {
+                live.add(docs.get(doc));
+            }
+        }
+        docs = new ArrayList<>(live.size());
+        dead = new BitSet();
+        docById = new HashMap<>();
+        postings = new HashMap<>();
+        for (Doc d : live) {
+            add(d.id(), d.name(), d.email(), d.dept(), d.gender());
+        }
+        logger.info("Compacted employee name index: dropped {} dead documents, {} live", deadCount, live.size());
+    }
+
+    private static String localPart(String email) {
+        if (email == null) {
+            return "";
+        }
+        int at = email.indexOf('@');
+        return at < 0 ? email : email.substring(0, at);
+    }
+
+    // Lower case letters and digits; everything else separates words
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            out.append(Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : ' ');
+        }
+        return out.toString();
+    }
+
+    // Trigrams of every word padded as "  word ", packed three UTF-16 chars per long
+    static Set<Long> trigrams(String normalized) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (String word : normalized.split(" ")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+            }
+        }
+        return grams;
+    }
+
+    private record Doc(String id, String name, String email, String dept, String gender, int trigramCount) {
+    }
+
+    private record Ranked(Doc doc, double coverage, double similarity) {
+
+        // Worst first, so the queue head is the one to drop
+        static final Comparator<Ranked> ORDER = Comparator.comparingDouble(Ranked::coverage)
+                .thenComparingDouble(Ranked::similarity)
+                .thenComparing(r -> r.doc().id(), Comparator.reverseOrder());
+    }
+
+    // Growable int list of document numbers, always ascending because documents are only appended
+    private static final class Postings {
+
+        static final Postings EMPTY = new Postings();
+
+        int[] docs = new int[4];
+        int size;
+
+        void add(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        boolean contains(int doc) {
+            return Arrays.binarySearch(docs, 0, size, doc) >= 0;
+        }
+    }
+}
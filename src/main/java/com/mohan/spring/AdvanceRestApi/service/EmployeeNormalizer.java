@@ -0,0 +1,106 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.springframework.stereotype.Component;
+
+import com.mohan.spring.AdvanceRestApi.config.NormalizationProperties;
+
+/**
+ * Canonicalises the free-text employee fields.
+ *
+ * Alias tables are case-insensitive TreeMaps built once from configuration, so
+ * a lookup never lower/upper-cases the input. Whitespace is only stripped
+ * (in one pass) when the input actually contains some, and values that are
+ * already canonical are returned as-is, so the common case allocates nothing.
+ */
+@Component
+public class EmployeeNormalizer {
+
+    private final Map<String, String> deptAliases = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, String> genderAliases = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final String allowedDepts;
+    private final String allowedGenders;
+
+    public EmployeeNormalizer(NormalizationProperties properties) {
+        properties.getDeptAliases().forEach((k, v) -> deptAliases.put(stripWhitespace(k), v));
+        properties.getGenderAliases().forEach((k, v) -> genderAliases.put(stripWhitespace(k), v));
+        this.allowedDepts = String.join(", ", new TreeSet<>(deptAliases.values()));
+        this.allowedGenders = String.join("/", new TreeSet<>(genderAliases.keySet()));
+    }
+
+    // "  mOHAN kumar " -> "Mohan kumar": trimmed, first letter upper, rest lower
+    public String normalizeName(String name) {
+        int start = 0;
+        int end = name.length();
+        while (start < end && Character.isWhitespace(name.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(name.charAt(end - 1))) {
+            end--;
+        }
+        if (start == end) {
+            return "";
+        }
+
+        boolean canonical = start == 0 && end == name.length()
+                && Character.toUpperCase(name.charAt(0)) == name.charAt(0);
+        for (int i = start + 1; canonical && i < end; i++) {
+            canonical = Character.toLowerCase(name.charAt(i)) == name.charAt(i);
+        }
+        if (canonical) {
+            return name;
+        }
+
+        char[] chars = new char[end - start];
+        chars[0] = Character.toUpperCase(name.charAt(start));
+        for (int i = 1; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(name.charAt(start + i));
+        }
+        return new String(chars);
+    }
+
+    // Stored department for any accepted alias, or null when unknown
+    public String normalizeDept(String dept) {
+        return deptAliases.get(stripWhitespace(dept));
+    }
+
+    // Stored gender for any accepted alias, or null when unknown
+    public String normalizeGender(String gender) {
+        return genderAliases.get(stripWhitespace(gender));
+    }
+
+    public String allowedDepts() {
+        return allowedDepts;
+    }
+
+    public String allowedGenders() {
+        return allowedGenders;
+    }
+
+    // Removes all whitespace; returns the same instance when there is none
+    static String stripWhitespace(String value) {
+        int firstSpace = -1;
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isWhitespace(value.charAt(i))) {
+                firstSpace = i;
+                break;
+            }
+        }
+        if (firstSpace < 0) {
+            return value;
+        }
+
+        StringBuilder sb = new StringBuilder(value.length() - 1);
+        sb.append(value, 0, firstSpace);
+        for (int i = firstSpace + 1; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
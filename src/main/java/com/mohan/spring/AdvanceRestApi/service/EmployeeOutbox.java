@@ -0,0 +1,143 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mohan.spring.AdvanceRestApi.model.ChangeType;
+import com.mohan.spring.AdvanceRestApi.model.EmployeeChange;
+import com.mohan.spring.AdvanceRestApi.model.EmployeeChangeOffset;
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSnapshot;
+import com.mohan.spring.AdvanceRestApi.repository.EmployeeChangeRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Transactional outbox for the change feed.
+ *
+ * Events appended inside a transaction are collected and written just before
+ * it commits, so they commit or roll back together with the change itself.
+ * Offsets are taken from a row that stays locked until commit. Offsets are
+ * therefore gap-free and become visible in order, and a reader that has seen
+ * offset n can never later find a smaller one. After commit the feed is woken
+ * to publish the new events, and ReadConsistency learns the last offset so
+ * later reads can insist on a replica that has it.
+ *
+ * With neither the feed nor replicas enabled nothing reads the outbox, and no
+ * events are written (this is always the case with sharding).
+ */
+@Component
+public class EmployeeOutbox {
+
+    @Autowired
+    EmployeeChangeRepository changeRepository;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Lazy
+    @Autowired
+    EmployeeChangeFeed changeFeed;
+
+    @Autowired
+    ReadConsistency readConsistency;
+
+    @Value("${employee.changes.enabled:true}")
+    boolean feedEnabled;
+
+    @Value("${employee.replicas.enabled:false}")
+    boolean replicasEnabled;
+
+    public void append(ChangeType type, EmployeeSnapshot employee, String dept, String gender) {
+        if (!feedEnabled && !replicasEnabled) {
+            return;
+        }
+        EmployeeChange change = new EmployeeChange(null, type, employee == null ? null : employee.id(), dept, gender,
+                employee == null ? null : toJson(employee), LocalDateTime.now());
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            pending().add(change);
+        } else {
+            long offset = new TransactionTemplate(transactionManager).execute(status -> write(List.of(change)));
+            committed(offset);
+        }
+    }
+
+    // Events of the current transaction, written by its beforeCommit callback
+    @SuppressWarnings("unchecked")
+    private List<EmployeeChange> pending() {
+        List<EmployeeChange> pending = (List<EmployeeChange>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<EmployeeChange> changes = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private long lastOffset;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    lastOffset = write(changes);
+                }
+
+                @Override
+                public void afterCommit() {
+                    if (lastOffset > 0) {
+                        committed(lastOffset);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EmployeeOutbox.this);
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+
+    private void committed(long lastOffset) {
+        readConsistency.localWriteCommitted(lastOffset);
+        changeFeed.wake();
+    }
+
+    // Offset of the last event written, 0 when there was nothing to write
+    private long write(List<EmployeeChange> changes) {
+        if (changes.isEmpty()) {
+            return 0;
+        }
+        EmployeeChangeOffset offset = changeRepository.lockOffset(EmployeeChangeOffset.ID)
+                .orElseThrow(() -> new IllegalStateException("employee_change_offset row is missing"));
+        long next = offset.getNextOffset();
+        for (EmployeeChange change : changes) {
+            change.setChangeOffset(next++);
+            entityManager.persist(change);
+        }
+        offset.setNextOffset(next);
+        return next - 1;
+    }
+
+    private String toJson(EmployeeSnapshot employee) {
+        try {
+            return objectMapper.writeValueAsString(employee);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize employee " + employee.id(), e);
+        }
+    }
+}
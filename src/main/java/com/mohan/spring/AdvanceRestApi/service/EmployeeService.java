@@ -1,173 +1,319 @@
 package com.mohan.spring.AdvanceRestApi.service;
 
-import java.time.Year;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import com.mohan.spring.AdvanceRestApi.exception.BadRequestException;
 import com.mohan.spring.AdvanceRestApi.exception.EmployeeNotFoundException;
+import com.mohan.spring.AdvanceRestApi.model.BatchItemResult;
 import com.mohan.spring.AdvanceRestApi.model.Employee;
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSearch;
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSnapshot;
 import com.mohan.spring.AdvanceRestApi.repository.EmployeeRepository;
 import com.mohan.spring.AdvanceRestApi.exception.IllegalDeptException;
+import com.mohan.spring.AdvanceRestApi.exception.PreconditionFailedException;
 import com.mohan.spring.AdvanceRestApi.service.EmployeeService;
+import com.mohan.spring.AdvanceRestApi.model.NameMatch;
 import com.mohan.spring.AdvanceRestApi.model.NameSalaryDTO;
+import com.mohan.spring.AdvanceRestApi.model.PageCursor;
+import com.mohan.spring.AdvanceRestApi.model.SalaryPolicy;
+import com.mohan.spring.AdvanceRestApi.model.SalaryRevisionResult;
+import com.mohan.spring.AdvanceRestApi.model.SalaryRule;
+import com.mohan.spring.AdvanceRestApi.model.SalaryStats;
+import com.mohan.spring.AdvanceRestApi.model.SearchPage;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 
 @Service
+@Timed("employee.service")
 public class EmployeeService {
 
 	private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
 
+    // Page size of /search when none is given
+    private static final int DEFAULT_SEARCH_SIZE = 100;
+
+    // Upper bound of /name-search?limit=
+    private static final int MAX_NAME_MATCHES = 100;
+
+    // Columns a client may ask for with ?fields=
+    private static final Set<String> SPARSE_FIELDS = Set.of("id", "name", "salary", "dept", "gender", "email", "version");
+
+    // Merge order of rows gathered from several shards, the same as the queries' ORDER BY
+    private static final Comparator<Employee> BY_ID = Comparator.comparing(Employee::getId);
+    private static final Comparator<Map<String, Object>> FIELDS_BY_ID = Comparator.comparing(row -> (String) row.get("id"));
+    private static final Comparator<NameSalaryDTO> BY_NAME_SALARY =
+            Comparator.comparing(NameSalaryDTO::getName).thenComparingDouble(NameSalaryDTO::getSalary);
+
     @Autowired
     EmployeeRepository employeeRepository;
 
-   
+    @Autowired
+    EmployeeIdAllocator employeeIdAllocator;
 
-    // Reusable validation + normalization
-    private Employee validateAndNormalize(Employee employee) {
-        logger.debug("Validating and normalizing employee: {}", employee);
+    @Autowired
+    EmployeeNormalizer employeeNormalizer;
 
-        // Name normalization
-        String name = employee.getName().trim();
-        name = name.substring(0, 1).toUpperCase() + name.substring(1).toLowerCase();
-        employee.setName(name);
+    @Autowired
+    SalaryPolicyEngine salaryPolicyEngine;
 
-     // Department normalization (NULL SAFE)
-        String dept = employee.getDept();
+    @Autowired
+    EmployeeBulkWriter employeeBulkWriter;
 
-        if (dept == null) {
-            throw new IllegalDeptException("Department is required");
-        }
+    @Autowired
+    EmployeeCache employeeCache;
+
+    @Autowired
+    EmployeeChangeNotifier changeNotifier;
+
+    @Autowired
+    EmployeeStatistics employeeStatistics;
+
+    @Autowired
+    EmployeeNameIndex employeeNameIndex;
 
-        // Remove ALL whitespace (including unicode)
-        dept = dept.replaceAll("\\s+", "").toUpperCase();
+    @Autowired
+    ReadConsistency readConsistency;
 
-        switch (dept) {
-            case "HR":
-                employee.setDept("HR");
-                break;
+    @Autowired
+    EmployeeShards employeeShards;
 
-            case "DEVELOPER":
-            case "DEV":
-                employee.setDept("Developer");
-                break;
+    @Autowired
+    ObjectMapper objectMapper;
 
-            case "TESTER":
-            case "TEST":
-                employee.setDept("Tester");
-                break;
+    @PersistenceContext
+    EntityManager entityManager;
 
-            default:
-                logger.error("Invalid department after normalization: {}", dept);
-                throw new IllegalDeptException(
-                    "Department is not valid. Allowed: HR, Developer, Tester"
-                );
-        }
+    @Value("${employee.page.max-size:1000}")
+    int maxPageSize;
 
+    @Value("${employee.batch.max-ids:1000}")
+    int maxBatchSize;
 
-        // Salary rules
-        Double salary = employee.getSalary();
-        if (salary > 30000) {
-            salary = salary + (salary * 0.10);
-            logger.info("Salary > 30000, added 10% bonus: {}", salary);
+   
+
+    // Reusable validation + normalization
+    Employee validateAndNormalize(Employee employee) {
+
+        // Name normalization
+        employee.setName(employeeNormalizer.normalizeName(employee.getName()));
+
+        // Department normalization (NULL SAFE, ignores case and all whitespace)
+        String dept = employee.getDept();
+        if (dept == null) {
+            throw new IllegalDeptException("Department is required");
         }
-        salary = salary - (salary * 0.05); // PF
-        salary = salary - (salary * 0.30); // Tax
-        salary = Math.round(salary * 100.0) / 100.0;
-        employee.setSalary(salary);
+        String normalizedDept = employeeNormalizer.normalizeDept(dept);
+        if (normalizedDept == null) {
+            logger.error("Invalid department after normalization: {}", dept);
+            throw new IllegalDeptException(
+                "Department is not valid. Allowed: " + employeeNormalizer.allowedDepts()
+            );
+        }
+        employee.setDept(normalizedDept);
+
+        // Salary rules (bonus, PF, tax) from the onboarding salary policy
+        employee.setSalary(salaryPolicyEngine.applyOnboarding(employee.getSalary()));
 
         // Gender normalization
-        String gender = employee.getGender().trim();
-        if (gender.equalsIgnoreCase("Male") || gender.equalsIgnoreCase("M")) {
-            employee.setGender("M");
-        } else if (gender.equalsIgnoreCase("Female") || gender.equalsIgnoreCase("F")) {
-            employee.setGender("F");
-        } else if (gender.equalsIgnoreCase("Other")) {
-            employee.setGender("Other");
-        } else {
-            logger.error("Invalid gender: {}", gender);
-            throw new RuntimeException("Gender is not valid. Allowed: Male/Female/Other or M/F");
+        String gender = employeeNormalizer.normalizeGender(employee.getGender());
+        if (gender == null) {
+            logger.error("Invalid gender: {}", employee.getGender());
+            throw new RuntimeException("Gender is not valid. Allowed: " + employeeNormalizer.allowedGenders());
         }
+        employee.setGender(gender);
 
-        logger.debug("Employee normalized: {}", employee);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Employee normalized: {}", employee);
+        }
         return employee;
     }
 
     
+    @Transactional
     public int deleteByDeptAndGender1(String dept, String gender) {
-        return employeeRepository.deleteByDeptAndGender(dept, gender);
+        int deleted = 0;
+        for (int rows : employeeShards.onEveryShard(false, () -> deleteOnShard(dept, gender))) {
+            deleted += rows;
+        }
+        changeNotifier.refresh(dept, gender);
+        return deleted;
+    }
+
+    // Rows of any department can be on any shard (placement is by id prefix)
+    private int deleteOnShard(String dept, String gender) {
+        int deleted = employeeRepository.deleteByDeptAndGender(dept, gender);
+        changeNotifier.recordBulkDelete(dept, gender);
+        return deleted;
     }
     
+    // Not @Transactional: the id is allocated first, because reserving a new id block takes a
+    // connection of its own and must not wait for one while this request already holds one
     public Employee saveEmployeeData(Employee employee) {
-        logger.info("Saving employee data: {}", employee);
+        logger.info("Saving employee data: name={}, dept={}", employee.getName(), employee.getDept());
         validateAndNormalize(employee);
 
-        String customId = generateCustomId(employee.getDept());
-        employee.setId(customId);
+        Employee savedEmployee = employeeShards.gated(() -> {
+            String customId = employeeIdAllocator.nextId(employee.getDept());
+            employee.setId(customId);
+            employee.setVersion(null);
 
-        Employee savedEmployee = employeeRepository.save(employee);
+            return employeeShards.inTransaction(employeeShards.shardOfId(customId), false, () -> {
+                Employee saved = employeeRepository.save(employee);
+                changeNotifier.inserted(saved);
+                return saved;
+            });
+        });
         logger.info("Employee saved successfully with ID: {}", savedEmployee.getId());
         return savedEmployee;
     }
 
-    // Custom ID generator based on department + year + count
-    private String generateCustomId(String dept) {
-        String prefix;
-
-        switch (dept.toLowerCase()) {
-            case "hr":
-                prefix = "HR";
-                break;
-            case "developer":
-            case "dev":
-                prefix = "DEV";
-                break;
-            case "tester":
-            case "test":
-                prefix = "TEST";
-                break;
-            default:
-                prefix = "GEN";
+    // Get All Employees
+    @Transactional(readOnly = true)
+    public List<Employee> getAllEmployees() {
+        logger.info("Fetching all employees...");
+        return employeeShards.gather(employeeRepository::findAll, BY_ID, 0);
+    }
+
+    // Keyset page of all employees after the cursor
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesPage(String cursor, int size) {
+        logger.info("Fetching employees page after cursor [{}], size {}", cursor, size);
+        return page(cursor, size, employeeRepository::findPageAfter);
+    }
+
+    // Write every employee as NDJSON straight from a database cursor, one shard after the other
+    public void exportAll(OutputStream out) throws IOException {
+        logger.info("Exporting all employees as NDJSON");
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            long exported = 0;
+            for (String shard : employeeShards.shards()) {
+                exported += readConsistency.replicaRead(false, () -> employeeShards.inTransaction(shard, true,
+                        () -> exportShard(writer, generator)));
+            }
+            logger.info("Export completed. Streamed {} employees", exported);
         }
+    }
 
-        long count = employeeRepository.count() + 1; // simple sequence
-        String year = String.valueOf(Year.now().getValue());
-        return String.format("%s%s-%03d", prefix, year, count); // e.g. HR2025-001
+    private long exportShard(ObjectWriter writer, JsonGenerator generator) {
+        long count = 0;
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            for (Employee employee : (Iterable<Employee>) employees::iterator) {
+                writer.writeValue(generator, employee);
+                generator.writeRaw('\n');
+                // Detach so the persistence context stays empty however many rows we stream
+                entityManager.detach(employee);
+                if (++count % 1000 == 0) {
+                    generator.flush();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
     }
-    
-    
 
-    // Get All Employees
-    public List<Employee> getAllEmployees() {
-        logger.info("Fetching all employees...");
-        return employeeRepository.findAll();
+    private Pageable limit(int size) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        return PageRequest.of(0, Math.min(size, maxPageSize));
+    }
+
+    // Unpaged finder over every shard
+    private List<Employee> all(Supplier<List<Employee>> query) {
+        return employeeShards.gather(query, BY_ID, 0);
+    }
+
+    // Keyset page over every shard: each returns its first `size` rows after the cursor, the merge keeps the first `size`
+    private List<Employee> page(String cursor, int size, BiFunction<String, Pageable, List<Employee>> query) {
+        String after = PageCursor.decode(cursor);
+        Pageable page = limit(size);
+        return employeeShards.gather(() -> query.apply(after, page), BY_ID, page.getPageSize());
     }
 
     // Get Employee by ID
     public Employee getEmployeeById(String id) {
         logger.info("Fetching employee by ID: {}", id);
-        return employeeRepository.findById(id)
+        return employeeCache.getById(id, key -> employeeShards.on(employeeShards.shardOfId(key),
+                        () -> readConsistency.replicaRead(true, () -> employeeRepository.findById(key))))
                 .orElseThrow(() -> new EmployeeNotFoundException("The employee with " + id + " not available"));
     }
 
+    // Whether the row exists on its shard, bypassing the cache (import retries)
+    boolean exists(String id) {
+        return employeeShards.on(employeeShards.shardOfId(id), () -> employeeRepository.existsById(id));
+    }
+
+    // Current version of an employee (cache first, otherwise a version-only query)
+    public Long getEmployeeVersion(String id) {
+        Optional<Employee> cached = employeeCache.peekById(id);
+        if (cached != null) {
+            return cached.map(Employee::getVersion)
+                    .orElseThrow(() -> new EmployeeNotFoundException("The employee with " + id + " not available"));
+        }
+        return employeeShards.on(employeeShards.shardOfId(id), () -> employeeRepository.findVersionById(id))
+                .orElseThrow(() -> new EmployeeNotFoundException("The employee with " + id + " not available"));
+    }
+
+    // If-Match check; the @Version column then guards the window between this check and the UPDATE
+    private void checkVersion(Employee employee, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(employee.getVersion())) {
+            throw new PreconditionFailedException("Employee " + employee.getId() + " was modified (current version "
+                    + employee.getVersion() + ", expected " + expectedVersion + ")");
+        }
+    }
+
     // Delete Employee By ID
-    public void deleteEmpById(String id) {
+    @Transactional
+    public void deleteEmpById(@ShardKey String id, Long expectedVersion) {
         logger.info("Deleting employee by ID: {}", id);
-        if (employeeRepository.existsById(id)) {
-            employeeRepository.deleteById(id);
-            logger.info("Employee deleted with id {}", id);
-        } else {
-            throw new EmployeeNotFoundException("Employee not found with id " + id);
-        }
+        Employee existing = employeeRepository.findById(id)
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee not found with id " + id));
+        checkVersion(existing, expectedVersion);
+        employeeRepository.delete(existing);
+        changeNotifier.deleted(EmployeeSnapshot.of(existing));
+        logger.info("Employee deleted with id {}", id);
     }
 
     // Put method (update)
-    public Employee updateEmployeeById(String id, Employee updateEmployeeDetails) {
+    @Transactional
+    public Employee updateEmployeeById(@ShardKey String id, Employee updateEmployeeDetails, Long expectedVersion) {
 
         String trimmedId = id.trim(); // ✅ new variable
 
@@ -179,6 +325,8 @@ public class EmployeeService {
                         "Employee not found with id " + trimmedId
                     )
                 );
+        checkVersion(existEmp, expectedVersion);
+        EmployeeSnapshot before = EmployeeSnapshot.of(existEmp);
 
         existEmp.setName(updateEmployeeDetails.getName());
         existEmp.setSalary(updateEmployeeDetails.getSalary());
@@ -186,104 +334,307 @@ public class EmployeeService {
         existEmp.setGender(updateEmployeeDetails.getGender());
 
         validateAndNormalize(existEmp);
-        return employeeRepository.save(existEmp);
+        Employee savedEmp = employeeRepository.save(existEmp);
+        changeNotifier.changed(before, EmployeeSnapshot.of(savedEmp));
+        return savedEmp;
     }
 
 
     // Patch method
-    public Employee partiallyUpdateEmployeeById(String id, Map<String, Object> updateEmployeeDetails) {
+    @Transactional
+    public Employee partiallyUpdateEmployeeById(@ShardKey String id, Map<String, Object> updateEmployeeDetails, Long expectedVersion) {
         logger.info("Partially updating employee by ID: {} | Updates: {}", id, updateEmployeeDetails);
         Optional<Employee> optionalEmployee = employeeRepository.findById(id);
         Employee existingEmployee = optionalEmployee.orElseThrow(() -> {
             logger.error("Employee not found with ID: {}", id);
             return new EmployeeNotFoundException("Employee not found with id : " + id);
         });
+        checkVersion(existingEmployee, expectedVersion);
+        EmployeeSnapshot before = EmployeeSnapshot.of(existingEmployee);
+
+        applyPatch(existingEmployee, updateEmployeeDetails);
+        validateAndNormalize(existingEmployee);
+
+        Employee savedEmp = employeeRepository.save(existingEmployee);
+        changeNotifier.changed(before, EmployeeSnapshot.of(savedEmp));
+        logger.info("Employee partially updated successfully with ID: {}", savedEmp.getId());
+        return savedEmp;
+    }
 
-        updateEmployeeDetails.forEach((k, v) -> {
+    // Copy patchable fields from a PATCH body onto the employee
+    private void applyPatch(Employee employee, Map<String, Object> fields) {
+        fields.forEach((k, v) -> {
             switch (k) {
                 case "name":
-                    existingEmployee.setName((String) v);
+                    employee.setName((String) v);
                     break;
                 case "salary":
-                	existingEmployee.setSalary(((Number)v).doubleValue());
+                	employee.setSalary(((Number)v).doubleValue());
                     break;
                 case "dept":
-                    existingEmployee.setDept((String) v);
+                    employee.setDept((String) v);
                     break;
                 case "gender":
-                    existingEmployee.setGender((String) v);
+                    employee.setGender((String) v);
                     break;
                 default:
                     logger.error("Field {} is not patchable", k);
                     throw new IllegalArgumentException("Field " + k + " is not patchable");
             }
         });
+    }
 
-        validateAndNormalize(existingEmployee);
+    // Batch PATCH: one IN query to load, one transaction (per shard), updates flushed as a JDBC batch at commit
+    @Transactional
+    public List<BatchItemResult> patchEmployees(Map<String, Map<String, Object>> patches) {
+        logger.info("Batch patching {} employees", patches.size());
+        checkBatchSize(patches.size());
+        return employeeShards.writeByShard(new ArrayList<>(patches.keySet()), Function.identity(), ids -> patch(ids, patches));
+    }
 
-        Employee savedEmp = employeeRepository.save(existingEmployee);
-        logger.info("Employee partially updated successfully with ID: {}", savedEmp.getId());
-        return savedEmp;
+    private List<BatchItemResult> patch(List<String> ids, Map<String, Map<String, Object>> patches) {
+        Map<String, Employee> found = employeeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Employee employee = found.get(id);
+            if (employee == null) {
+                results.add(new BatchItemResult(id, HttpStatus.NOT_FOUND.value(), "Employee not found with id " + id, null));
+                continue;
+            }
+            EmployeeSnapshot before = EmployeeSnapshot.of(employee);
+            try {
+                applyPatch(employee, patches.get(id));
+                validateAndNormalize(employee);
+            } catch (RuntimeException e) {
+                // Detach so the half-applied patch is not flushed with the others
+                entityManager.detach(employee);
+                results.add(new BatchItemResult(id, HttpStatus.BAD_REQUEST.value(), e.getMessage(), null));
+                continue;
+            }
+            changeNotifier.changed(before, EmployeeSnapshot.of(employee));
+            results.add(new BatchItemResult(id, HttpStatus.OK.value(), null, employee));
+        }
+        return results;
+    }
+
+    // Batch DELETE: one IN query to load, one DELETE ... WHERE id IN (...) (per shard)
+    @Transactional
+    public List<BatchItemResult> deleteEmployees(List<String> ids) {
+        logger.info("Batch deleting {} employees", ids.size());
+        checkBatchSize(ids.size());
+        return employeeShards.writeByShard(ids, Function.identity(), this::delete);
+    }
+
+    private List<BatchItemResult> delete(List<String> ids) {
+        Map<String, Employee> found = employeeRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Employee::getId, Function.identity()));
+        employeeRepository.deleteAllByIdInBatch(found.keySet());
+
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Employee employee = found.remove(id);
+            if (employee == null) {
+                results.add(new BatchItemResult(id, HttpStatus.NOT_FOUND.value(), "Employee not found with id " + id, null));
+            } else {
+                changeNotifier.deleted(EmployeeSnapshot.of(employee));
+                results.add(new BatchItemResult(id, HttpStatus.NO_CONTENT.value(), null, null));
+            }
+        }
+        return results;
     }
 
-    // Save bulk data
+    private void checkBatchSize(int size) {
+        if (size > maxBatchSize) {
+            throw new BadRequestException("Batch too large: " + size + " ids (max " + maxBatchSize + ")");
+        }
+    }
+
+    // Save bulk data (not @Transactional, see insertNormalized)
     public List<Employee> saveEmpDetails(List<Employee> empList) {
         logger.info("Saving bulk employee data. Count: {}", empList.size());
         empList.forEach(this::validateAndNormalize);
-        empList.forEach(e -> e.setId(generateCustomId(e.getDept())));
-        List<Employee> savedEmpList = employeeRepository.saveAll(empList);
-        logger.info("Bulk save completed. Saved {} employees", savedEmpList.size());
+        long start = System.currentTimeMillis();
+        List<Employee> savedEmpList = insertNormalized(empList);
+        logger.info("Bulk save completed. Saved {} employees in {} ms",
+                savedEmpList.size(), System.currentTimeMillis() - start);
         return savedEmpList;
     }
 
+    // Assign IDs and batch-insert employees that are already validated and normalized.
+    // Callers must not be in a transaction: IDs are allocated before the insert transactions open
+    List<Employee> insertNormalized(List<Employee> empList) {
+        return employeeShards.gated(() -> {
+            empList.forEach(e -> {
+                e.setId(employeeIdAllocator.nextId(e.getDept()));
+                e.setVersion(null);
+            });
+            return employeeShards.writeByShard(empList, Employee::getId, employees -> {
+                List<Employee> saved = employeeBulkWriter.insertAll(employees);
+                saved.forEach(changeNotifier::inserted);
+                return saved;
+            });
+        });
+    }
+
     // Count
+    @Transactional(readOnly = true)
     public Long noOfAllEmps() {
-        return employeeRepository.count();
+        return employeeShards.sum(employeeRepository::count);
     }
 	
 	public Employee getEmployeeByEmail(String email) {
-        return employeeRepository.findByEmail(email)
+        return employeeCache.getByEmail(email, key -> readConsistency.replicaRead(true,
+                        () -> employeeShards.findFirst(() -> employeeRepository.findByEmail(key))))
                 .orElseThrow(() -> new EmployeeNotFoundException(email));
     }
 
+    @Transactional(readOnly = true)
     public List<Employee> getEmployeesBySalaryBetween(double minSalary, double maxSalary) {
-        return employeeRepository.findBySalaryBetween(minSalary, maxSalary);
+        return all(() -> employeeRepository.findBySalaryBetween(minSalary, maxSalary));
     }
     
  // Delete all
+    @Transactional
     public void deleteAllEmps() {
-        employeeRepository.deleteAll();
+        employeeShards.onEveryShard(false, () -> {
+            employeeRepository.deleteAll();
+            changeNotifier.recordBulkDelete(null, null);
+            return null;
+        });
+        changeNotifier.refresh(null, null);
     }
     
+    @Transactional(readOnly = true)
+    public List<Employee> getEmployeesBySalaryBetween(double minSalary, double maxSalary, String cursor, int size) {
+        return page(cursor, size, (after, page) -> employeeRepository.findPageBySalaryBetween(minSalary, maxSalary, after, page));
+    }
+
+    @Transactional(readOnly = true)
     public List<Employee> findByDeptAndGender(String dept, String gender) {
-        return employeeRepository.findByDeptAndGender(dept, gender);
+        return all(() -> employeeRepository.findByDeptAndGender(dept, gender));
     }
 
+    @Transactional(readOnly = true)
     public List<Employee> findByDeptOrGender(String dept, String gender) {
-        return employeeRepository.findByDeptOrGender(dept, gender);
+        return all(() -> employeeRepository.findByDeptOrGender(dept, gender));
     }
 
+    @Transactional(readOnly = true)
     public List<Employee> findByGender(String gender) {
-        return employeeRepository.findByGender(gender);
+        return all(() -> employeeRepository.findByGender(gender));
     }
 
+    @Transactional(readOnly = true)
     public List<Employee> findBySalaryGreaterThan(Double salary) {
-        return employeeRepository.findBySalaryGreaterThan(salary);
+        return all(() -> employeeRepository.findBySalaryGreaterThan(salary));
     }
 
+    @Transactional(readOnly = true)
     public List<Employee> findBySalaryLessThan(Double salary) {
-        return employeeRepository.findBySalaryLessThan(salary);
+        return all(() -> employeeRepository.findBySalaryLessThan(salary));
     }
     
+    @Transactional(readOnly = true)
+    public List<Employee> findByDeptAndGender(String dept, String gender, String cursor, int size) {
+        return page(cursor, size, (after, page) -> employeeRepository.findPageByDeptAndGender(dept, gender, after, page));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> findByDeptOrGender(String dept, String gender, String cursor, int size) {
+        return page(cursor, size, (after, page) -> employeeRepository.findPageByDeptOrGender(dept, gender, after, page));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> findByGender(String gender, String cursor, int size) {
+        return page(cursor, size, (after, page) -> employeeRepository.findPageByGender(gender, after, page));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> findBySalaryGreaterThan(Double salary, String cursor, int size) {
+        return page(cursor, size, (after, page) -> employeeRepository.findPageBySalaryGreaterThan(salary, after, page));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Employee> findBySalaryLessThan(Double salary, String cursor, int size) {
+        return page(cursor, size, (after, page) -> employeeRepository.findPageBySalaryLessThan(salary, after, page));
+    }
+    
+    // Ranked partial/misspelt name and email matches from the in-memory index (no database access)
+    public List<NameMatch> searchByName(String query, int limit) {
+        if (limit < 1 || limit > MAX_NAME_MATCHES) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_NAME_MATCHES);
+        }
+        return employeeNameIndex.search(query, limit);
+    }
+
+    // Composable filters + sort keys in one keyset-paged query (GET /search), run on every shard and merged
+    @Transactional(readOnly = true)
+    public SearchPage search(EmployeeSearch search, String cursor, Integer size) {
+        Pageable page = limit(size != null ? size : DEFAULT_SEARCH_SIZE);
+        if (!employeeShards.enabled()) {
+            return employeeRepository.search(search, cursor, page);
+        }
+        List<Employee> rows = employeeShards.gather(() -> employeeRepository.search(search, cursor, page).employees(),
+                employeeRepository.searchOrder(search), page.getPageSize());
+        return new SearchPage(rows, rows.isEmpty() ? null : employeeRepository.searchCursor(search, rows.get(rows.size() - 1)));
+    }
+
+    // Sparse fieldset for a list finder; a paged request always selects id for the cursor
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findFields(String fields, Specification<Employee> filter, String cursor, Integer size) {
+        List<String> selected = parseFields(fields, size != null);
+        if (size == null) {
+            // Merged by id like the other unpaged finders, so the shards return id even when it was not asked for
+            boolean addId = employeeShards.enabled() && !selected.contains("id");
+            List<String> read = addId ? Stream.concat(Stream.of("id"), selected.stream()).toList() : selected;
+            List<Map<String, Object>> rows = employeeShards.gather(
+                    () -> employeeRepository.findFields(filter, read, null, Pageable.unpaged()), FIELDS_BY_ID, 0);
+            if (addId) {
+                rows.forEach(row -> row.remove("id"));
+            }
+            return rows;
+        }
+        String after = PageCursor.decode(cursor);
+        Pageable page = limit(size);
+        return employeeShards.gather(() -> employeeRepository.findFields(filter, selected, after, page),
+                FIELDS_BY_ID, page.getPageSize());
+    }
+
+    private static List<String> parseFields(String fields, boolean withId) {
+        Set<String> selected = new LinkedHashSet<>();
+        if (withId) {
+            selected.add("id");
+        }
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!SPARSE_FIELDS.contains(name)) {
+                throw new BadRequestException("Unknown field: " + name + ", allowed: " + SPARSE_FIELDS);
+            }
+            selected.add(name);
+        }
+        if (selected.isEmpty()) {
+            throw new BadRequestException("fields must name at least one of " + SPARSE_FIELDS);
+        }
+        return new ArrayList<>(selected);
+    }
+
+    @Transactional(readOnly = true)
     public List<NameSalaryDTO> getNameSalary() {
-        return employeeRepository.findNameAndSalary();
+        return employeeShards.gather(employeeRepository::findNameAndSalary, BY_NAME_SALARY, 0);
     }
 
+    @Transactional(readOnly = true)
     public List<NameSalaryDTO> getNameSalaryByDept(String dept) {
-        return employeeRepository.findNameAndSalaryByDept(dept);
+        return employeeShards.gather(() -> employeeRepository.findNameAndSalaryByDept(dept), BY_NAME_SALARY, 0);
     }
 
-    public void updateWithNewName(String id, String oldName, String newName) {
+    @Transactional
+    public void updateWithNewName(@ShardKey String id, String oldName, String newName, Long expectedVersion) {
 
         String trimmedId = id.trim();
         String oldNameTrimmed = oldName.trim();
@@ -293,6 +644,8 @@ public class EmployeeService {
                 .orElseThrow(() ->
                     new EmployeeNotFoundException("Employee not found with id " + trimmedId)
                 );
+        checkVersion(emp, expectedVersion);
+        EmployeeSnapshot before = EmployeeSnapshot.of(emp);
 
         if (!emp.getName().equalsIgnoreCase(oldNameTrimmed)) {
             throw new IllegalArgumentException("Old name does not match");
@@ -300,14 +653,73 @@ public class EmployeeService {
 
         emp.setName(newNameTrimmed);
         employeeRepository.save(emp);
+        changeNotifier.changed(before, EmployeeSnapshot.of(emp));
     }
 
 
+    @Transactional
     public void deleteByDeptAndGender(String dept, String gender) {
-        employeeRepository.deleteByDeptAndGender(dept, gender);
+        employeeShards.onEveryShard(false, () -> deleteOnShard(dept, gender));
+        changeNotifier.refresh(dept, gender);
     }
 
+    // One-off raise for a department, run as a single-rule salary policy
+    @Transactional
     public int increaseSalaryByDept(String dept, double percent) {
-        return employeeRepository.increaseSalaryByDept(dept, percent);
+        SalaryPolicy raise = SalaryPolicy.of(new SalaryRule("increase", null, percent));
+        int updated = (int) applyBulk("increase-" + percent, raise, dept, false).getAffectedRows();
+        changeNotifier.refreshSalaries(dept, null);
+        return updated;
+    }
+
+    // One chunk of a salary increase job: only the given ids of the department
+    @Transactional
+    public int increaseSalaryForIds(String dept, double percent, List<String> ids) {
+        SalaryPolicy raise = SalaryPolicy.of(new SalaryRule("increase", null, percent));
+        int updated = 0;
+        for (Map.Entry<String, List<String>> chunk : employeeShards.byShard(ids, Function.identity()).entrySet()) {
+            updated += employeeShards.inTransaction(chunk.getKey(), false, () -> {
+                long rows = salaryPolicyEngine.applyBulk("increase-" + percent, raise, dept, chunk.getValue(), false)
+                        .getAffectedRows();
+                changeNotifier.recordBulkUpdate(dept, null);
+                return (int) rows;
+            });
+        }
+        return updated;
+    }
+
+    // Apply a configured salary revision to one department or (dept == null) everyone
+    @Transactional
+    public SalaryRevisionResult applySalaryRevision(String policyName, String dept, boolean dryRun) {
+        SalaryRevisionResult result = applyBulk(policyName, salaryPolicyEngine.revision(policyName), dept, dryRun);
+        if (!dryRun) {
+            changeNotifier.refreshSalaries(dept, null);
+        }
+        return result;
+    }
+
+    // The set-based statement on every shard (outbox event included), totals added up
+    private SalaryRevisionResult applyBulk(String policyName, SalaryPolicy policy, String dept, boolean dryRun) {
+        List<SalaryRevisionResult> parts = employeeShards.onEveryShard(dryRun, () -> {
+            SalaryRevisionResult part = salaryPolicyEngine.applyBulk(policyName, policy, dept, dryRun);
+            if (!dryRun) {
+                changeNotifier.recordBulkUpdate(dept, null);
+            }
+            return part;
+        });
+        SalaryRevisionResult total = parts.get(0);
+        for (SalaryRevisionResult part : parts.subList(1, parts.size())) {
+            total.setAffectedRows(total.getAffectedRows() + part.getAffectedRows());
+            total.setTotalDelta(Math.round((total.getTotalDelta() + part.getTotalDelta()) * 100.0) / 100.0);
+        }
+        return total;
+    }
+
+    public List<SalaryStats> getSalaryStats(String dept, String gender) {
+        return employeeStatistics.getStats(dept, gender);
+    }
+
+    public Map<String, Object> cacheStats() {
+        return employeeCache.stats();
     }
 }
@@ -0,0 +1,378 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mohan.spring.AdvanceRestApi.config.ShardProperties;
+import com.mohan.spring.AdvanceRestApi.exception.ShardMovingException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Which shard holds an employee, and running work on the right shard(s).
+ *
+ * Employees are placed by id prefix (HR, DEV, TEST, GEN: the department they
+ * were hired into), so a row stays where it is when its dept changes. Every
+ * shard has the full schema: a prefix's id sequences live on the prefix's
+ * shard, so a single-employee write stays one local transaction. The prefix ->
+ * shard directory is kept in employee_shard_assignment on the home shard (the
+ * first one), which also holds the bulk jobs. There is no change feed: each
+ * shard would write its own outbox with its own offsets, which no single
+ * ordered feed can be built from, so ShardingConfig requires it to be off.
+ *
+ * ShardRoutingDataSource hands out connections to currentShard(). Writes to
+ * one employee run on its shard (@ShardKey), reads that span shards go through
+ * gather(), which queries every shard in parallel and merges the rows in
+ * order, and writes that span shards run one transaction per shard, so they
+ * are not atomic across shards.
+ *
+ * Writes hold a shared gate on the prefixes they may touch (ShardRoutingAspect,
+ * or gated() for the inserts, which allocate ids before any transaction opens).
+ * ShardRebalancer closes a prefix's gate for the final step of a move, so no
+ * write lands on the old shard once the copy is final. The gates are
+ * in-process: move shards with a single application node running.
+ *
+ * With sharding off there is one shard, nothing is routed and all of this
+ * runs inline in the caller's transaction.
+ */
+@Component
+public class EmployeeShards {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeShards.class);
+
+    public static final String SINGLE = "single";
+
+    private static final ThreadLocal<String> current = new ThreadLocal<>();
+
+    private final Map<String, ReentrantReadWriteLock> gates = new HashMap<>();
+
+    private boolean enabled;
+    private List<String> shards = List.of(SINGLE);
+    private volatile Map<String, String> directory = Map.of();
+    private ExecutorService gatherer;
+
+    @Autowired
+    ShardProperties properties;
+
+    @Autowired
+    DataSource dataSource;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<String> names = new ArrayList<>();
+        properties.getNodes().forEach(node -> names.add(node.getName()));
+        shards = List.copyOf(names);
+        directory = Map.copyOf(loadDirectory());
+        AtomicInteger threads = new AtomicInteger();
+        gatherer = Executors.newFixedThreadPool(properties.getFanOutThreads(), r -> {
+            Thread thread = new Thread(r, "shard-gather-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        enabled = true;
+        logger.info("Employee store sharded over {} (home {}), directory {}", shards, home(), directory);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (gatherer != null) {
+            gatherer.shutdownNow();
+        }
+    }
+
+    // Directory rows on the home shard, seeded from employee.shards.assignments on first start.
+    // In a transaction, since the pools may not auto-commit
+    private Map<String, String> loadDirectory() {
+        JdbcTemplate home = new JdbcTemplate(dataSource);
+        Map<String, String> loaded = new LinkedHashMap<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            home.query("SELECT prefix, shard FROM employee_shard_assignment ORDER BY prefix",
+                    rs -> { loaded.put(rs.getString(1), rs.getString(2)); });
+            if (loaded.isEmpty()) {
+                Set<String> prefixes = new LinkedHashSet<>(EmployeeIdAllocator.PREFIXES);
+                properties.getAssignments().keySet().forEach(p -> prefixes.add(p.toUpperCase()));
+                for (String prefix : prefixes) {
+                    String shard = properties.getAssignments().entrySet().stream()
+                            .filter(a -> a.getKey().equalsIgnoreCase(prefix)).map(Map.Entry::getValue)
+                            .findFirst().orElse(home());
+                    home.update("INSERT INTO employee_shard_assignment (prefix, shard, updated_at) VALUES (?, ?, ?)",
+                            prefix, shard, Timestamp.valueOf(LocalDateTime.now()));
+                    loaded.put(prefix, shard);
+                }
+            }
+        });
+        loaded.forEach((prefix, shard) -> {
+            if (!shards.contains(shard)) {
+                throw new IllegalStateException("Prefix " + prefix + " is assigned to unknown shard " + shard
+                        + ", configured: " + shards);
+            }
+        });
+        return loaded;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public List<String> shards() {
+        return shards;
+    }
+
+    public String home() {
+        return shards.get(0);
+    }
+
+    public Map<String, String> directory() {
+        return directory;
+    }
+
+    // Every prefix with rows or a directory entry
+    public Set<String> prefixes() {
+        Set<String> prefixes = new TreeSet<>(EmployeeIdAllocator.PREFIXES);
+        prefixes.addAll(directory.keySet());
+        return prefixes;
+    }
+
+    // Shard the current thread's connections go to; null means home
+    public static String currentShard() {
+        return current.get();
+    }
+
+    // Leading letters of an id, e.g. DEV for DEV2025-007
+    public static String prefixOf(String id) {
+        int end = 0;
+        while (end < id.length() && Character.isLetter(id.charAt(end))) {
+            end++;
+        }
+        return id.substring(0, end);
+    }
+
+    public String shardOfPrefix(String prefix) {
+        return directory.getOrDefault(prefix, home());
+    }
+
+    public String shardOfId(String id) {
+        return shardOfPrefix(prefixOf(id));
+    }
+
+    // Point the directory at the prefix's new shard; the caller holds the prefix's gate closed
+    synchronized void reassign(String prefix, String shard) {
+        Map<String, String> updated = new LinkedHashMap<>(directory);
+        updated.put(prefix, shard);
+        directory = Map.copyOf(updated);
+    }
+
+    // Route the current thread to a shard; pass the result to restore()
+    public String route(String shard) {
+        String previous = current.get();
+        current.set(shard);
+        return previous;
+    }
+
+    public void restore(String previous) {
+        if (previous == null) {
+            current.remove();
+        } else {
+            current.set(previous);
+        }
+    }
+
+    public <T> T on(String shard, Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        String previous = route(shard);
+        try {
+            return work.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    // A transaction of its own on the shard; with sharding off, the caller's transaction (or a new one)
+    public <T> T inTransaction(String shard, boolean readOnly, Supplier<T> work) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        if (!enabled) {
+            return tx.execute(status -> work.get());
+        }
+        tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return on(shard, () -> tx.execute(status -> work.get()));
+    }
+
+    /**
+     * Runs a read on every shard in parallel and merges the rows by order (null
+     * keeps shard order). Each shard's rows come back in that order, so the
+     * sort only merges the runs, and for a keyset page of `limit` rows the
+     * first `limit` merged rows are the page. limit < 1 means all rows.
+     */
+    public <T> List<T> gather(Supplier<List<T>> query, Comparator<? super T> order, int limit) {
+        if (!enabled) {
+            return query.get();
+        }
+        List<CompletableFuture<List<T>>> parts = new ArrayList<>(shards.size());
+        for (String shard : shards) {
+            parts.add(CompletableFuture.supplyAsync(() -> inTransaction(shard, true, query), gatherer));
+        }
+        List<T> merged = new ArrayList<>();
+        for (CompletableFuture<List<T>> part : parts) {
+            merged.addAll(join(part));
+        }
+        if (order != null) {
+            merged.sort(order);
+        }
+        return limit > 0 && merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    public long sum(Supplier<Long> query) {
+        long total = 0;
+        for (Long part : gather(() -> List.of(query.get()), null, 0)) {
+            total += part;
+        }
+        return total;
+    }
+
+    // Match from whichever shard has it, for keys that are unique (email)
+    public <T> Optional<T> findFirst(Supplier<Optional<T>> query) {
+        return gather(() -> query.get().map(List::of).orElseGet(List::of), null, 0).stream().findFirst();
+    }
+
+    // The same write on every shard in turn, one transaction each; results in shard order
+    public <T> List<T> onEveryShard(boolean readOnly, Supplier<T> work) {
+        List<T> results = new ArrayList<>(shards.size());
+        for (String shard : shards) {
+            results.add(inTransaction(shard, readOnly, work));
+        }
+        return results;
+    }
+
+    // Items grouped by the shard that owns them, each group in the original order
+    public <T> Map<String, List<T>> byShard(List<T> items, Function<T, String> idOf) {
+        Map<String, List<T>> groups = new LinkedHashMap<>();
+        for (T item : items) {
+            groups.computeIfAbsent(owner(item, idOf), s -> new ArrayList<>()).add(item);
+        }
+        return groups;
+    }
+
+    /**
+     * Writes items on the shards that own them, one transaction per shard.
+     * work gets each shard's items in their original order and returns one
+     * result per item; the results come back in the order of items.
+     */
+    public <T, R> List<R> writeByShard(List<T> items, Function<T, String> idOf, Function<List<T>, List<R>> work) {
+        Map<String, Iterator<R>> results = new HashMap<>();
+        byShard(items, idOf).forEach((shard, group) ->
+                results.put(shard, inTransaction(shard, false, () -> work.apply(group)).iterator()));
+
+        List<R> ordered = new ArrayList<>(items.size());
+        for (T item : items) {
+            ordered.add(results.get(owner(item, idOf)).next());
+        }
+        return ordered;
+    }
+
+    private <T> String owner(T item, Function<T, String> idOf) {
+        return enabled ? shardOfId(idOf.apply(item)) : SINGLE;
+    }
+
+    // Work under every prefix's gate, as ShardRoutingAspect runs a write without a @ShardKey
+    public <T> T gated(Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        List<Lock> held = acquire(prefixes());
+        try {
+            return work.get();
+        } finally {
+            release(held);
+        }
+    }
+
+    // Shared side of the gates of the given prefixes; give the result back to release()
+    public List<Lock> acquire(Set<String> prefixes) {
+        List<Lock> held = new ArrayList<>(prefixes.size());
+        try {
+            // Always in the same order, so two writers never wait on each other
+            for (String prefix : new TreeSet<>(prefixes)) {
+                Lock lock = gate(prefix).readLock();
+                if (!lock.tryLock(properties.getMoveWriteWait().toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new ShardMovingException("Employees with id prefix " + prefix + " are being moved to another shard");
+                }
+                held.add(lock);
+            }
+            return held;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            release(held);
+            throw new ShardMovingException("Interrupted while waiting for a shard move");
+        } catch (RuntimeException e) {
+            release(held);
+            throw e;
+        }
+    }
+
+    public void release(List<Lock> held) {
+        held.forEach(Lock::unlock);
+    }
+
+    // Exclusive side of a prefix's gate, held by ShardRebalancer while it finishes a move
+    Lock closeGate(String prefix) {
+        return gate(prefix).writeLock();
+    }
+
+    private synchronized ReentrantReadWriteLock gate(String prefix) {
+        // Fair, so a waiting move is not starved by a steady stream of writes
+        return gates.computeIfAbsent(prefix, p -> new ReentrantReadWriteLock(true));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSnapshot;
+import com.mohan.spring.AdvanceRestApi.model.SalaryStats;
+import com.mohan.spring.AdvanceRestApi.repository.EmployeeRepository;
+
+/**
+ * In-memory headcount and salary aggregates per department and gender.
+ *
+ * Built from the table once at startup, then maintained incrementally from
+ * every single-row write. Set-based statements (bulk deletes, salary policies)
+ * rebuild just the groups they touched. Each group keeps a sorted multiset of
+ * salaries so min/max stay exact when rows are removed.
+ *
+ * What each employee currently contributes is tracked by id, and a change
+ * replaces that contribution instead of adding to it. A write whose
+ * after-commit notification arrives after a rebuild already read the row is
+ * then not counted twice, and a delete of a row the rebuild never saw
+ * removes nothing.
+ */
+@Component
+public class EmployeeStatistics implements EmployeeChangeListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(EmployeeStatistics.class);
+
+    private final ConcurrentMap<GroupKey, Group> groups = new ConcurrentHashMap<>();
+
+    // Employee id -> the group and salary it is counted with
+    private final ConcurrentMap<String, Fact> facts = new ConcurrentHashMap<>();
+
+    // Incremental updates share the read lock; a rebuild takes the write lock
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    private final double[] bucketBounds;
+    private final String[] bucketLabels;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    EmployeeShards employeeShards;
+
+    public EmployeeStatistics(@Value("${employee.stats.histogram-buckets:20000,40000,60000,80000,100000}") double[] bucketBounds) {
+        this.bucketBounds = bucketBounds.clone();
+        this.bucketLabels = new String[bucketBounds.length + 1];
+        for (int i = 0; i <= bucketBounds.length; i++) {
+            String from = i == 0 ? "0" : format(bucketBounds[i - 1]);
+            bucketLabels[i] = i == bucketBounds.length ? ">=" + from : from + "-" + format(bucketBounds[i]);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        rebuild(null, null);
+    }
+
+    @Override
+    public void employeeChanged(EmployeeSnapshot before, EmployeeSnapshot after) {
+        rebuildLock.readLock().lock();
+        try {
+            if (after != null) {
+                count(after.id(), new Fact(new GroupKey(after.dept(), after.gender()), after.salary()));
+            } else if (before != null) {
+                count(before.id(), null);
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    // Replace what the employee contributes (null = nothing); atomic per id
+    private void count(String id, Fact fact) {
+        facts.compute(id, (k, counted) -> {
+            if (counted != null) {
+                group(counted.key()).remove(counted.salary());
+            }
+            if (fact != null && fact.salary() != null) {
+                group(fact.key()).add(fact.salary());
+                return fact;
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void employeesChanged(String dept, String gender) {
+        rebuild(dept, gender);
+    }
+
+    // Aggregates for all groups, optionally filtered by department and/or gender
+    public List<SalaryStats> getStats(String dept, String gender) {
+        List<SalaryStats> result = new ArrayList<>();
+        // Not while a rebuild has emptied the groups it is reloading
+        rebuildLock.readLock().lock();
+        try {
+            groups.forEach((key, group) -> {
+                if (matches(key, dept, gender)) {
+                    SalaryStats stats = group.toStats(key);
+                    if (stats.getCount() > 0) {
+                        result.add(stats);
+                    }
+                }
+            });
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+        result.sort(Comparator.comparing(SalaryStats::getDept).thenComparing(SalaryStats::getGender));
+        return result;
+    }
+
+    private void rebuild(String dept, String gender) {
+        rebuildLock.writeLock().lock();
+        try {
+            groups.keySet().removeIf(key -> matches(key, dept, gender));
+            facts.values().removeIf(fact -> matches(fact.key(), dept, gender));
+
+            long rows = 0;
+            for (String shard : employeeShards.shards()) {
+                rows += employeeShards.inTransaction(shard, true, () -> {
+                    long count = 0;
+                    try (Stream<Object[]> facts = employeeRepository.streamSalaryFacts(dept, gender)) {
+                        for (Object[] row : (Iterable<Object[]>) facts::iterator) {
+                            count((String) row[0], new Fact(new GroupKey((String) row[1], (String) row[2]),
+                                    ((Number) row[3]).doubleValue()));
+                            count++;
+                        }
+                    }
+                    return count;
+                });
+            }
+            logger.info("Rebuilt employee statistics for dept={}, gender={} from {} rows", dept, gender, rows);
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private Group group(GroupKey key) {
+        return groups.computeIfAbsent(key, k -> new Group(bucketBounds.length + 1));
+    }
+
+    // null dept/gender match any
+    private static boolean matches(GroupKey key, String dept, String gender) {
+        return (dept == null || dept.equals(key.dept())) && (gender == null || gender.equals(key.gender()));
+    }
+
+    private int bucket(double salary) {
+        int i = 0;
+        while (i < bucketBounds.length && salary >= bucketBounds[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String format(double bound) {
+        return bound == Math.rint(bound) ? String.valueOf((long) bound) : String.valueOf(bound);
+    }
+
+    private record GroupKey(String dept, String gender) {
+        GroupKey {
+            dept = Objects.toString(dept, "");
+            gender = Objects.toString(gender, "");
+        }
+    }
+
+    private record Fact(GroupKey key, Double salary) {
+    }
+
+    private final class Group {
+        private final TreeMap<Double, Integer> salaries = new TreeMap<>();
+        private final long[] histogram;
+        private long count;
+        private double sum;
+
+        Group(int buckets) {
+            this.histogram = new long[buckets];
+        }
+
+        synchronized void add(Double salary) {
+            if (salary == null) {
+                return;
+            }
+            salaries.merge(salary, 1, Integer::sum);
+            histogram[bucket(salary)]++;
+            count++;
+            sum += salary;
+        }
+
+        synchronized void remove(Double salary) {
+            Integer n = salary == null ? null : salaries.get(salary);
+            if (n == null) {
+                return;
+            }
+            if (n == 1) {
+                salaries.remove(salary);
+            } else {
+                salaries.put(salary, n - 1);
+            }
+            histogram[bucket(salary)]--;
+            count--;
+            sum -= salary;
+        }
+
+        synchronized SalaryStats toStats(GroupKey key) {
+            Map<String, Long> buckets = new LinkedHashMap<>();
+            for (int i = 0; i < histogram.length; i++) {
+                buckets.put(bucketLabels[i], histogram[i]);
+            }
+            double total = Math.round(sum * 100.0) / 100.0;
+            return new SalaryStats(key.dept(), key.gender(), count, total,
+                    count == 0 ? 0 : Math.round(sum / count * 100.0) / 100.0,
+                    salaries.isEmpty() ? 0 : salaries.firstKey(),
+                    salaries.isEmpty() ? 0 : salaries.lastKey(),
+                    buckets);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mohan.spring.AdvanceRestApi.config.ShardDataSources;
+import com.mohan.spring.AdvanceRestApi.config.ShardProperties;
+import com.mohan.spring.AdvanceRestApi.exception.BadRequestException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * The application nodes sharing a sharded store, registered in app_node on the
+ * home shard.
+ *
+ * Each node renews its row every third of node-lease and removes it on
+ * shutdown; a node that stopped renewing counts as gone once the lease has
+ * passed. A shard move freezes a prefix with gates that only this process's
+ * writes pass through, so ShardRebalancer refuses to move while any other node
+ * is alive.
+ */
+@Component
+@ConditionalOnProperty(name = "employee.shards.enabled", havingValue = "true")
+public class NodeRegistry {
+
+	private static final Logger logger = LoggerFactory.getLogger(NodeRegistry.class);
+
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "node-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    ShardDataSources shardDataSources;
+
+    @Autowired
+    ShardProperties properties;
+
+    @Value("${employee.jobs.node-id:${HOSTNAME:local}}")
+    String nodeId;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void register() {
+        renew();
+        long renewEvery = Math.max(1, properties.getNodeLease().toMillis() / 3);
+        heartbeat.scheduleWithFixedDelay(this::renew, renewEvery, renewEvery, TimeUnit.MILLISECONDS);
+        logger.info("Registered node {}, {} node(s) alive", nodeId, alive());
+    }
+
+    @PreDestroy
+    public void deregister() {
+        heartbeat.shutdownNow();
+        try {
+            tx().executeWithoutResult(status -> home().update("DELETE FROM app_node WHERE node_id = ?", nodeId));
+        } catch (RuntimeException e) {
+            logger.warn("Could not deregister node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    // Nodes whose heartbeat is within the lease, this one included
+    public int alive() {
+        Timestamp since = Timestamp.valueOf(LocalDateTime.now().minus(properties.getNodeLease()));
+        return home().queryForObject("SELECT COUNT(*) FROM app_node WHERE heartbeat_at >= ?", Integer.class, since);
+    }
+
+    public void requireSingleNode() {
+        int alive = alive();
+        if (alive > 1) {
+            throw new BadRequestException("Shard moves need a single application node, " + alive
+                    + " are running; scale down to one first");
+        }
+    }
+
+    void renew() {
+        try {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            JdbcTemplate home = home();
+            tx().executeWithoutResult(status -> {
+                if (home.update("UPDATE app_node SET heartbeat_at = ? WHERE node_id = ?", now, nodeId) == 0) {
+                    home.update("INSERT INTO app_node (node_id, heartbeat_at) VALUES (?, ?)", nodeId, now);
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.warn("Could not renew the heartbeat of node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    private JdbcTemplate home() {
+        return new JdbcTemplate(shardDataSources.get(shardDataSources.home()));
+    }
+
+    // Writes need one: the shard pools may not auto-commit
+    private TransactionTemplate tx() {
+        return new TransactionTemplate(new DataSourceTransactionManager(shardDataSources.get(shardDataSources.home())));
+    }
+}
@@ -0,0 +1,122 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Decides which reads may be served by a replica, and how fresh it must be.
+ *
+ * Reads leave the primary only inside a replica read: a read-only
+ * EmployeeService method (ReplicaReadAspect) or a cache load. The replica must
+ * then have applied at least the outbox offset given by replicaMinOffset():
+ * the client's own last write, sent back in the Employee-Read-After header or
+ * cookie that every write response carries; and for cache loads also the last
+ * write committed on this node, so an entry evicted by a commit is never
+ * reloaded from a replica that predates it.
+ *
+ * Outbox offsets are gap-free and become visible in commit order (see
+ * EmployeeOutbox), so a replica that has applied offset n has every write up
+ * to n.
+ */
+@Component
+public class ReadConsistency {
+
+    public static final String TOKEN = "Employee-Read-After";
+
+    private static final ThreadLocal<Long> replicaRead = new ThreadLocal<>();
+
+    private final AtomicLong lastLocalWrite = new AtomicLong();
+
+    @Value("${employee.replicas.enabled:false}")
+    boolean replicasEnabled;
+
+    @Value("${employee.replicas.read-your-writes-window:60s}")
+    Duration tokenTtl;
+
+    public <T> T replicaRead(boolean afterLocalWrites, Supplier<T> read) {
+        Long previous = enterReplicaRead(afterLocalWrites);
+        try {
+            return read.get();
+        } finally {
+            exitReplicaRead(previous);
+        }
+    }
+
+    // Nested replica reads keep the strictest requirement; pass the result to exitReplicaRead
+    public Long enterReplicaRead(boolean afterLocalWrites) {
+        Long previous = replicaRead.get();
+        long min = clientOffset();
+        if (afterLocalWrites) {
+            min = Math.max(min, lastLocalWrite.get());
+        }
+        if (previous != null) {
+            min = Math.max(min, previous);
+        }
+        replicaRead.set(min);
+        return previous;
+    }
+
+    public void exitReplicaRead(Long previous) {
+        if (previous == null) {
+            replicaRead.remove();
+        } else {
+            replicaRead.set(previous);
+        }
+    }
+
+    // Lowest outbox offset a replica must have applied for the current read; null = primary only
+    public Long replicaMinOffset() {
+        return replicaRead.get();
+    }
+
+    // After a commit that wrote outbox events up to `offset`; tells the client (if any) to read at least that
+    public void localWriteCommitted(long offset) {
+        lastLocalWrite.accumulateAndGet(offset, Math::max);
+        if (!replicasEnabled || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        HttpServletResponse response = attributes.getResponse();
+        if (response != null && !response.isCommitted()) {
+            String value = String.valueOf(offset);
+            response.setHeader(TOKEN, value);
+            response.setHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(TOKEN, value)
+                    .path("/").maxAge(tokenTtl).httpOnly(true).sameSite("Lax").build().toString());
+        }
+    }
+
+    // Offset from the request's header or cookie; 0 when there is none (or no request)
+    private static long clientOffset() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return 0;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String token = request.getHeader(TOKEN);
+        if (token == null && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (TOKEN.equals(cookie.getName())) {
+                    token = cookie.getValue();
+                }
+            }
+        }
+        if (token == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(token.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mohan.spring.AdvanceRestApi.config.SalaryPolicyProperties;
+import com.mohan.spring.AdvanceRestApi.exception.BadRequestException;
+import com.mohan.spring.AdvanceRestApi.model.SalaryPolicy;
+import com.mohan.spring.AdvanceRestApi.model.SalaryRevisionResult;
+import com.mohan.spring.AdvanceRestApi.model.SalaryRule;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Applies data-driven salary policies.
+ *
+ * The same policy can run per entity (apply) or as one set-based UPDATE over a
+ * department or the whole table (applyBulk). Rule thresholds are compared with
+ * the salary before the policy, which keeps the bulk statement linear in the
+ * number of rules:
+ *
+ *   salary = round(salary * (case when salary > :t0 then :m0 else 1 end) * :m1 ..., scale)
+ */
+@Service
+public class SalaryPolicyEngine {
+
+	private static final Logger logger = LoggerFactory.getLogger(SalaryPolicyEngine.class);
+
+    @Autowired
+    SalaryPolicyProperties properties;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    // Policy applied to every salary written through the API
+    public double applyOnboarding(double salary) {
+        return apply(properties.getOnboarding(), salary);
+    }
+
+    public double apply(SalaryPolicy policy, double salary) {
+        double original = salary;
+        for (SalaryRule rule : policy.getRules()) {
+            if (rule.getAbove() == null || original > rule.getAbove()) {
+                salary = salary + (salary * (rule.getPercent() / 100.0));
+            }
+        }
+        double factor = Math.pow(10, policy.getScale());
+        return Math.round(salary * factor) / factor;
+    }
+
+    public SalaryPolicy revision(String name) {
+        SalaryPolicy policy = properties.getRevisions().get(name);
+        if (policy == null) {
+            throw new BadRequestException("Unknown salary policy " + name
+                    + ". Configured: " + properties.getRevisions().keySet());
+        }
+        return policy;
+    }
+
+    /**
+     * Applies the policy to every employee (dept == null) or one department in a
+     * single statement. With dryRun nothing is written and the result holds the
+     * number of rows and the total salary change the update would make.
+     */
+    @Transactional
+    public SalaryRevisionResult applyBulk(String policyName, SalaryPolicy policy, String dept, boolean dryRun) {
+        return applyBulk(policyName, policy, dept, null, dryRun);
+    }
+
+    // Same as above, limited to the given ids (one chunk of a bulk job) when ids != null
+    @Transactional
+    public SalaryRevisionResult applyBulk(String policyName, SalaryPolicy policy, String dept,
+                                          Collection<String> ids, boolean dryRun) {
+        String newSalary = "round(" + expression(policy.getRules()) + ", " + policy.getScale() + ")";
+        List<String> conditions = new ArrayList<>();
+        if (dept != null) {
+            conditions.add("e.dept = :dept");
+        }
+        if (ids != null) {
+            conditions.add("e.id in :ids");
+        }
+        String where = conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+
+        Query query = dryRun
+                ? entityManager.createQuery("select count(e), coalesce(sum(" + newSalary + " - e.salary), 0)"
+                        + " from Employee e" + where)
+                : entityManager.createQuery("update Employee e set e.salary = " + newSalary
+                        + ", e.version = e.version + 1" + where);
+        bind(query, policy.getRules());
+        if (dept != null) {
+            query.setParameter("dept", dept);
+        }
+        if (ids != null) {
+            query.setParameter("ids", ids);
+        }
+
+        SalaryRevisionResult result = new SalaryRevisionResult(policyName, dept, dryRun, 0, 0);
+        if (dryRun) {
+            Object[] row = (Object[]) query.getSingleResult();
+            result.setAffectedRows(((Number) row[0]).longValue());
+            result.setTotalDelta(Math.round(((Number) row[1]).doubleValue() * 100.0) / 100.0);
+        } else {
+            result.setAffectedRows(query.executeUpdate());
+        }
+        logger.info("Salary policy {} on dept {} (dryRun={}): {} rows", policyName,
+                dept == null ? "ALL" : dept, dryRun, result.getAffectedRows());
+        return result;
+    }
+
+    private static String expression(List<SalaryRule> rules) {
+        StringBuilder expr = new StringBuilder("e.salary");
+        for (int i = 0; i < rules.size(); i++) {
+            if (rules.get(i).getAbove() == null) {
+                expr.append(" * :m").append(i);
+            } else {
+                expr.append(" * (case when e.salary > :t").append(i)
+                    .append(" then :m").append(i).append(" else 1.0 end)");
+            }
+        }
+        return expr.toString();
+    }
+
+    private static void bind(Query query, List<SalaryRule> rules) {
+        for (int i = 0; i < rules.size(); i++) {
+            SalaryRule rule = rules.get(i);
+            query.setParameter("m" + i, 1.0 + rule.getPercent() / 100.0);
+            if (rule.getAbove() != null) {
+                query.setParameter("t" + i, rule.getAbove());
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// The employee id of a write that touches one employee: ShardRoutingAspect runs the call on its shard
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShardKey {
+}
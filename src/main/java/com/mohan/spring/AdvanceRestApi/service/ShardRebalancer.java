@@ -0,0 +1,304 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mohan.spring.AdvanceRestApi.config.ShardDataSources;
+import com.mohan.spring.AdvanceRestApi.config.ShardProperties;
+import com.mohan.spring.AdvanceRestApi.exception.BadRequestException;
+import com.mohan.spring.AdvanceRestApi.model.ShardLayout;
+
+/**
+ * Moves id prefixes between shards while the API keeps serving them.
+ *
+ * A move copies the prefix's rows into employee_shard_staging on the target
+ * in chunks while writes go on, then closes the prefix's gate, waits for the
+ * writes in flight and re-copies only the rows that were added, deleted or
+ * changed (by version) meanwhile. The target takes the rows and id sequences
+ * in one transaction, the directory flips, and the source's delete commits
+ * right after. Writes to the prefix wait (or get a 503) only for this last
+ * step; reads never wait, but may see a moved row on both shards between the
+ * two commits.
+ *
+ * plan() spreads the prefixes over the shards by row count, largest first onto
+ * the emptiest shard, which is how a newly added, empty shard gets its share.
+ * With four prefixes the balance is coarse; a department is never split.
+ *
+ * The gates are in-process, so moves are refused unless this is the only
+ * application node registered (NodeRegistry).
+ */
+@Component
+@ConditionalOnProperty(name = "employee.shards.enabled", havingValue = "true")
+public class ShardRebalancer {
+
+	private static final Logger logger = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    private static final String COLUMNS = "id, name, salary, dept, gender, email, version";
+    private static final String INSERT_VALUES = " (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final RowMapper<Object[]> ROW = (rs, n) -> new Object[] { rs.getString(1), rs.getString(2),
+            rs.getDouble(3), rs.getString(4), rs.getString(5), rs.getString(6), rs.getLong(7) };
+
+    private final ReentrantLock moving = new ReentrantLock();
+
+    @Autowired
+    EmployeeShards employeeShards;
+
+    @Autowired
+    ShardDataSources shardDataSources;
+
+    @Autowired
+    ShardProperties properties;
+
+    @Autowired
+    NodeRegistry nodeRegistry;
+
+    public ShardLayout layout() {
+        return new ShardLayout(employeeShards.shards(), new TreeMap<>(employeeShards.directory()), rowCounts());
+    }
+
+    // Rows per prefix on each shard
+    public Map<String, Map<String, Long>> rowCounts() {
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        for (String shard : employeeShards.shards()) {
+            JdbcTemplate jdbc = jdbc(shard);
+            Map<String, Long> perPrefix = new TreeMap<>();
+            for (String prefix : employeeShards.prefixes()) {
+                long rows = jdbc.queryForObject("SELECT COUNT(*) FROM employee WHERE id LIKE ?", Long.class, idsOf(prefix));
+                if (rows > 0) {
+                    perPrefix.put(prefix, rows);
+                }
+            }
+            counts.put(shard, perPrefix);
+        }
+        return counts;
+    }
+
+    public long rows(Collection<String> prefixes) {
+        long total = 0;
+        for (Map<String, Long> perPrefix : rowCounts().values()) {
+            for (String prefix : prefixes) {
+                total += perPrefix.getOrDefault(prefix, 0L);
+            }
+        }
+        return total;
+    }
+
+    // prefix -> target shard for every prefix that should move
+    public Map<String, String> plan() {
+        Map<String, Long> rows = new HashMap<>();
+        rowCounts().values().forEach(perPrefix -> perPrefix.forEach((prefix, n) -> rows.merge(prefix, n, Long::sum)));
+
+        Map<String, Long> load = new LinkedHashMap<>();
+        employeeShards.shards().forEach(shard -> load.put(shard, 0L));
+        List<String> prefixes = new ArrayList<>(rows.keySet());
+        prefixes.sort(Comparator.comparing((String prefix) -> rows.get(prefix)).reversed());
+
+        Map<String, String> moves = new LinkedHashMap<>();
+        for (String prefix : prefixes) {
+            // Least loaded shard; ties stay where they are
+            String current = employeeShards.shardOfPrefix(prefix);
+            String target = current;
+            for (String shard : load.keySet()) {
+                if (load.get(shard) < load.get(target)) {
+                    target = shard;
+                }
+            }
+            load.merge(target, rows.get(prefix), Long::sum);
+            if (!target.equals(current)) {
+                moves.put(prefix, target);
+            }
+        }
+        return moves;
+    }
+
+    // Also checked again before each move, since a node may have started since the moves were submitted
+    public void validate(Map<String, String> moves) {
+        nodeRegistry.requireSingleNode();
+        moves.forEach((prefix, target) -> {
+            if (!employeeShards.prefixes().contains(prefix)) {
+                throw new BadRequestException("Unknown id prefix " + prefix + ", known: " + employeeShards.prefixes());
+            }
+            if (!employeeShards.shards().contains(target)) {
+                throw new BadRequestException("Unknown shard " + target + ", configured: " + employeeShards.shards());
+            }
+        });
+    }
+
+    // Move one prefix to the target shard; progress is told the rows copied as the copy goes on
+    public void move(String prefix, String target, LongConsumer progress) {
+        validate(Map.of(prefix, target));
+        if (!moving.tryLock()) {
+            throw new IllegalStateException("Another shard move is running");
+        }
+        try {
+            String source = employeeShards.shardOfPrefix(prefix);
+            if (source.equals(target)) {
+                logger.info("Prefix {} is already on shard {}", prefix, target);
+                return;
+            }
+            move(prefix, source, target, progress);
+        } finally {
+            moving.unlock();
+        }
+    }
+
+    private void move(String prefix, String source, String target, LongConsumer progress) {
+        JdbcTemplate from = jdbc(source);
+        JdbcTemplate to = jdbc(target);
+        String like = idsOf(prefix);
+        long started = System.currentTimeMillis();
+
+        // Leftovers of an earlier failed move: the source is authoritative until the directory flips.
+        // Every write runs in a transaction, since the shard pools may not auto-commit
+        tx(target).executeWithoutResult(status -> {
+            to.update("DELETE FROM employee_shard_staging");
+            to.update("DELETE FROM employee WHERE id LIKE ?", like);
+        });
+
+        long copied = 0;
+        String after = "";
+        List<Object[]> rows;
+        while (!(rows = from.query("SELECT " + COLUMNS + " FROM employee WHERE id LIKE ? AND id > ? ORDER BY id LIMIT ?",
+                ROW, like, after, properties.getMoveChunkSize())).isEmpty()) {
+            List<Object[]> chunk = rows;
+            tx(target).executeWithoutResult(status -> to.batchUpdate("INSERT INTO employee_shard_staging" + INSERT_VALUES, chunk));
+            after = (String) rows.get(rows.size() - 1)[0];
+            copied += rows.size();
+            progress.accept(rows.size());
+        }
+        logger.info("Copied {} rows of prefix {} from {} to {}; closing writes to finish the move", copied, prefix, source, target);
+
+        Lock gate = employeeShards.closeGate(prefix);
+        try {
+            if (!gate.tryLock(properties.getMoveFreezeTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Writes to prefix " + prefix + " did not finish within "
+                        + properties.getMoveFreezeTimeout() + ", move abandoned");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while closing writes to prefix " + prefix);
+        }
+        long frozen = System.currentTimeMillis();
+        try {
+            int changed = tx(target).execute(status -> reconcile(from, to, like));
+            switchOver(prefix, source, target, from, to);
+            logger.info("Moved prefix {} from {} to {}: {} rows, {} re-copied while writes were held ({} ms), {} ms in total",
+                    prefix, source, target, copied, changed, System.currentTimeMillis() - frozen,
+                    System.currentTimeMillis() - started);
+        } finally {
+            gate.unlock();
+        }
+    }
+
+    // Bring the staged copy up to date with the source, now that no write can reach it; returns rows fixed
+    private int reconcile(JdbcTemplate from, JdbcTemplate to, String like) {
+        Map<String, Long> current = versions(from, "employee", like);
+        Map<String, Long> staged = versions(to, "employee_shard_staging", like);
+
+        List<Object[]> outdated = new ArrayList<>();
+        staged.forEach((id, version) -> {
+            if (!version.equals(current.get(id))) {
+                outdated.add(new Object[] { id });
+            }
+        });
+        List<String> missing = new ArrayList<>();
+        current.forEach((id, version) -> {
+            if (!version.equals(staged.get(id))) {
+                missing.add(id);
+            }
+        });
+
+        to.batchUpdate("DELETE FROM employee_shard_staging WHERE id = ?", outdated);
+        NamedParameterJdbcTemplate source = new NamedParameterJdbcTemplate(from);
+        for (int i = 0; i < missing.size(); i += properties.getMoveChunkSize()) {
+            List<String> ids = missing.subList(i, Math.min(i + properties.getMoveChunkSize(), missing.size()));
+            to.batchUpdate("INSERT INTO employee_shard_staging" + INSERT_VALUES,
+                    source.query("SELECT " + COLUMNS + " FROM employee WHERE id IN (:ids)", Map.of("ids", ids), ROW));
+        }
+        return Math.max(outdated.size(), missing.size());
+    }
+
+    private static Map<String, Long> versions(JdbcTemplate jdbc, String table, String like) {
+        Map<String, Long> versions = new HashMap<>();
+        jdbc.query("SELECT id, version FROM " + table + " WHERE id LIKE ?",
+                rs -> { versions.put(rs.getString(1), rs.getLong(2)); }, like);
+        return versions;
+    }
+
+    /**
+     * The target commits the rows and sequences inside the source's transaction,
+     * which then flips the directory and commits the delete. If the target
+     * fails nothing has changed; the source transaction is the one that makes
+     * the move final.
+     */
+    private void switchOver(String prefix, String source, String target, JdbcTemplate from, JdbcTemplate to) {
+        String sequences = sequencesOf(prefix);
+        tx(source).executeWithoutResult(sourceStatus -> {
+            from.update("DELETE FROM employee WHERE id LIKE ?", idsOf(prefix));
+            List<Object[]> values = from.query("SELECT name, next_value FROM employee_id_sequence WHERE name LIKE ?",
+                    (rs, n) -> new Object[] { rs.getString(1), rs.getLong(2) }, sequences);
+            from.update("DELETE FROM employee_id_sequence WHERE name LIKE ?", sequences);
+
+            tx(target).executeWithoutResult(targetStatus -> {
+                to.update("INSERT INTO employee (" + COLUMNS + ") SELECT " + COLUMNS + " FROM employee_shard_staging");
+                to.update("DELETE FROM employee_shard_staging");
+                to.update("DELETE FROM employee_id_sequence WHERE name LIKE ?", sequences);
+                to.batchUpdate("INSERT INTO employee_id_sequence (name, next_value) VALUES (?, ?)", values);
+            });
+
+            // Joins the source's transaction when home is the source
+            JdbcTemplate home = jdbc(employeeShards.home());
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            tx(employeeShards.home()).executeWithoutResult(homeStatus -> {
+                if (home.update("UPDATE employee_shard_assignment SET shard = ?, updated_at = ? WHERE prefix = ?",
+                        target, now, prefix) == 0) {
+                    home.update("INSERT INTO employee_shard_assignment (prefix, shard, updated_at) VALUES (?, ?, ?)",
+                            prefix, target, now);
+                }
+            });
+            // The target has the rows now; reads go there before the source's copy disappears
+            employeeShards.reassign(prefix, target);
+        });
+    }
+
+    // LIKE patterns for the prefix's ids (DEV2025-001) and id sequences (DEV2025): the prefix followed by
+    // exactly four characters of year, so a prefix never matches another prefix that starts with it
+    private static String idsOf(String prefix) {
+        return prefix + "____-%";
+    }
+
+    private static String sequencesOf(String prefix) {
+        return prefix + "____";
+    }
+
+    private JdbcTemplate jdbc(String shard) {
+        return new JdbcTemplate(shardDataSources.get(shard));
+    }
+
+    private TransactionTemplate tx(String shard) {
+        return new TransactionTemplate(new DataSourceTransactionManager(shardDataSources.get(shard)));
+    }
+}
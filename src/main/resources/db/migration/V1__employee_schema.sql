@@ -0,0 +1,32 @@
+-- Employee table and ID sequences (previously generated by ddl-auto)
+
+CREATE TABLE employee (
+    id      VARCHAR(32)      NOT NULL PRIMARY KEY,
+    name    VARCHAR(50)      NOT NULL,
+    salary  DOUBLE PRECISION NOT NULL,
+    dept    VARCHAR(30)      NOT NULL,
+    gender  VARCHAR(10)      NOT NULL,
+    email   VARCHAR(255)
+);
+
+CREATE TABLE employee_id_sequence (
+    name        VARCHAR(32) NOT NULL PRIMARY KEY,
+    next_value  BIGINT      NOT NULL
+);
+
+-- findByEmail / GET /search1
+CREATE UNIQUE INDEX ux_employee_email ON employee (email);
+
+-- findByDeptAndGender, deleteByDeptAndGender, increaseSalaryByDept (dept prefix);
+-- id last so keyset pages are read in index order
+CREATE INDEX ix_employee_dept_gender ON employee (dept, gender, id);
+
+-- findByGender (and the gender branch of findByDeptOrGender)
+CREATE INDEX ix_employee_gender ON employee (gender, id);
+
+-- findBySalaryBetween / GreaterThan / LessThan
+CREATE INDEX ix_employee_salary ON employee (salary, id);
+
+-- Covering indexes for the NameSalaryDTO projections
+CREATE INDEX ix_employee_dept_name_salary ON employee (dept, name, salary);
+CREATE INDEX ix_employee_name_salary ON employee (name, salary);
@@ -0,0 +1,2 @@
+-- Optimistic locking / ETag version for Employee
+ALTER TABLE employee ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
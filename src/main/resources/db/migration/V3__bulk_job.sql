@@ -0,0 +1,17 @@
+-- Asynchronous bulk jobs and their progress
+CREATE TABLE bulk_job (
+    id                VARCHAR(36)   NOT NULL PRIMARY KEY,
+    type              VARCHAR(30)   NOT NULL,
+    status            VARCHAR(20)   NOT NULL,
+    node              VARCHAR(100)  NOT NULL,
+    total             BIGINT        NOT NULL,
+    processed         BIGINT        NOT NULL,
+    failed            BIGINT        NOT NULL,
+    cancel_requested  BOOLEAN       NOT NULL,
+    message           VARCHAR(1000),
+    created_at        TIMESTAMP     NOT NULL,
+    started_at        TIMESTAMP,
+    finished_at       TIMESTAMP
+);
+
+CREATE INDEX ix_bulk_job_node_status ON bulk_job (node, status);
@@ -0,0 +1,21 @@
+-- Transactional outbox of employee changes, read by the change feed in offset order
+CREATE TABLE employee_change (
+    change_offset  BIGINT        NOT NULL PRIMARY KEY,
+    type           VARCHAR(20)   NOT NULL,
+    employee_id    VARCHAR(32),
+    dept           VARCHAR(30),
+    gender         VARCHAR(10),
+    data           VARCHAR(2000),
+    created_at     TIMESTAMP     NOT NULL
+);
+
+-- Retention purge
+CREATE INDEX ix_employee_change_created_at ON employee_change (created_at);
+
+-- Next offset. Writers lock this row until they commit, so offsets become visible in order
+CREATE TABLE employee_change_offset (
+    id           INT     NOT NULL PRIMARY KEY,
+    next_offset  BIGINT  NOT NULL
+);
+
+INSERT INTO employee_change_offset (id, next_offset) VALUES (1, 1);
@@ -0,0 +1,19 @@
+-- Sharding by id prefix (employee.shards.*). Every shard gets the full schema.
+
+-- Prefix -> shard directory; only the home shard's copy is used
+CREATE TABLE employee_shard_assignment (
+    prefix      VARCHAR(16)  NOT NULL PRIMARY KEY,
+    shard       VARCHAR(64)  NOT NULL,
+    updated_at  TIMESTAMP    NOT NULL
+);
+
+-- A prefix's rows are copied here on the target shard while it is moved, then swapped into employee
+CREATE TABLE employee_shard_staging (
+    id       VARCHAR(32)      NOT NULL PRIMARY KEY,
+    name     VARCHAR(50)      NOT NULL,
+    salary   DOUBLE PRECISION NOT NULL,
+    dept     VARCHAR(30)      NOT NULL,
+    gender   VARCHAR(10)      NOT NULL,
+    email    VARCHAR(255),
+    version  BIGINT           NOT NULL
+);
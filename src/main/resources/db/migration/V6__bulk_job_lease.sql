@@ -0,0 +1,5 @@
+-- Lease of a queued or running bulk job: the node running it renews heartbeat_at,
+-- any node fails jobs whose lease expired
+ALTER TABLE bulk_job ADD COLUMN heartbeat_at TIMESTAMP;
+
+CREATE INDEX ix_bulk_job_status_heartbeat ON bulk_job (status, heartbeat_at);
@@ -0,0 +1,7 @@
+-- Application nodes running against a sharded store (employee.shards.*); only the home shard's
+-- copy is used. Each node renews heartbeat_at, and shard moves are refused while more than one
+-- node's heartbeat is fresh, since the write gates that freeze a moving prefix are per process
+CREATE TABLE app_node (
+    node_id       VARCHAR(64)  NOT NULL PRIMARY KEY,
+    heartbeat_at  TIMESTAMP    NOT NULL
+);
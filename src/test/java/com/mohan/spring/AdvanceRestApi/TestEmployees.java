@@ -0,0 +1,28 @@
+package com.mohan.spring.AdvanceRestApi;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+
+// Unsaved employees for tests, each with an email no other test uses
+public final class TestEmployees {
+
+	private static final AtomicLong sequence = new AtomicLong();
+
+	private TestEmployees() {
+	}
+
+	public static Employee employee(String name) {
+		return employee(name, "Tester", "F");
+	}
+
+	public static Employee employee(String name, String dept, String gender) {
+		Employee employee = new Employee();
+		employee.setName(name);
+		employee.setSalary(40000.0);
+		employee.setDept(dept);
+		employee.setGender(gender);
+		employee.setEmail(name.toLowerCase() + "." + System.nanoTime() + "." + sequence.incrementAndGet() + "@example.com");
+		return employee;
+	}
+}
@@ -0,0 +1,80 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import static com.mohan.spring.AdvanceRestApi.TestEmployees.employee;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.mohan.spring.AdvanceRestApi.config.Replicas.Replica;
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+import com.mohan.spring.AdvanceRestApi.service.EmployeeService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Reads leave a replica that lags by more than max-lag for the primary, and come back once it has caught up
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:replica-lag;DB_CLOSE_DELAY=-1",
+		"employee.replicas.urls[0]=jdbc:h2:mem:replica-lag-replica;DB_CLOSE_DELAY=-1",
+		"employee.replicas.max-lag=300ms",
+		"employee.replicas.lag-check-interval=50ms",
+		"employee.replicas.local-sync.interval=50ms",
+		"employee.replicas.local-sync.delay=2s"
+})
+@ActiveProfiles("replicas")
+class ReplicaLagTests {
+
+	@Autowired
+	EmployeeService employeeService;
+
+	@Autowired
+	Replicas replicas;
+
+	@Autowired
+	MeterRegistry registry;
+
+	@Test
+	void readsGoToThePrimaryWhileTheReplicaLags() {
+		Replica replica = replicas.all().get(0);
+		JdbcTemplate replicaJdbc = new JdbcTemplate(replica.dataSource());
+		await("replica available", () -> replica.available);
+
+		Employee saved = employeeService.saveEmployeeData(employee("Lagging"));
+		await("replica past max-lag", () -> !replica.available);
+		assertThat(replicaJdbc.queryForObject("SELECT COUNT(*) FROM employee WHERE id = ?", Integer.class, saved.getId()))
+				.as("replica has not applied the insert yet").isZero();
+
+		double fallbacks = routed("no-replica");
+		assertThat(employeeService.findByDeptAndGender("Tester", "F"))
+				.extracting(Employee::getId).contains(saved.getId());
+		assertThat(routed("no-replica")).isEqualTo(fallbacks + 1);
+
+		await("replica caught up", () -> replica.available);
+		double toReplica = routed("replica");
+		assertThat(employeeService.findByDeptAndGender("Tester", "F"))
+				.extracting(Employee::getId).contains(saved.getId());
+		assertThat(routed("replica")).isEqualTo(toReplica + 1);
+	}
+
+	private double routed(String reason) {
+		return registry.get("employee.datasource.routed").tag("reason", reason).counter().count();
+	}
+
+	private static void await(String what, BooleanSupplier condition) {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!condition.getAsBoolean()) {
+			assertThat(System.currentTimeMillis()).as("timed out waiting for " + what).isLessThan(deadline);
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.core.NestedExceptionUtils;
+
+import com.mohan.spring.AdvanceRestApi.AdvanceRestApiApplication;
+
+// The change feed reads only the home shard's outbox, so sharding refuses to start with it enabled
+class ShardingConfigTests {
+
+	@Test
+	void startupFailsWithTheChangeFeedEnabled() {
+		SpringApplicationBuilder application = new SpringApplicationBuilder(AdvanceRestApiApplication.class)
+				.web(WebApplicationType.NONE)
+				.profiles("shards");
+		// Arguments, since default properties would lose to the profile's employee.changes.enabled=false
+		String[] args = {
+				"--employee.changes.enabled=true",
+				"--employee.shards.nodes[0].name=shard-a",
+				"--employee.shards.nodes[0].url=jdbc:h2:mem:feed-guard-a;DB_CLOSE_DELAY=-1",
+				"--employee.shards.nodes[1].name=shard-b",
+				"--employee.shards.nodes[1].url=jdbc:h2:mem:feed-guard-b;DB_CLOSE_DELAY=-1" };
+
+		assertThatThrownBy(() -> application.run(args))
+				.satisfies(e -> assertThat(NestedExceptionUtils.getMostSpecificCause(e))
+						.isInstanceOf(IllegalStateException.class)
+						.hasMessageContaining("employee.changes.enabled=false"));
+	}
+}
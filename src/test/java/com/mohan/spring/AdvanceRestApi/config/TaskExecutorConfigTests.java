@@ -0,0 +1,29 @@
+package com.mohan.spring.AdvanceRestApi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+// The job and change feed pools must not take the place of Boot's executor for MVC async work
+@SpringBootTest
+class TaskExecutorConfigTests {
+
+	@Autowired
+	@Qualifier("applicationTaskExecutor")
+	ThreadPoolTaskExecutor applicationTaskExecutor;
+
+	@Autowired
+	RequestMappingHandlerAdapter handlerAdapter;
+
+	@Test
+	void mvcAsyncRunsOnTheApplicationTaskExecutor() {
+		assertThat(applicationTaskExecutor.getThreadNamePrefix()).isEqualTo("task-");
+		assertThat(ReflectionTestUtils.getField(handlerAdapter, "taskExecutor")).isSameAs(applicationTaskExecutor);
+	}
+}
@@ -0,0 +1,99 @@
+package com.mohan.spring.AdvanceRestApi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+// Conditional requests on /{id}: If-None-Match gives 304, a stale If-Match gives 412
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeETagTests {
+
+	private static final String EMPLOYEES = "/api/v1/employees";
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Test
+	void matchingIfNoneMatchReturnsNotModified() throws Exception {
+		String id = create("Etag");
+		String etag = mockMvc.perform(get(EMPLOYEES + "/" + id))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(get(EMPLOYEES + "/" + id).header("If-None-Match", etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", etag));
+		mockMvc.perform(get(EMPLOYEES + "/" + id).header("If-None-Match", "\"999\""))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void staleIfMatchOnPatchIsRejected() throws Exception {
+		String id = create("Patch");
+
+		mockMvc.perform(patch(EMPLOYEES + "/" + id).header("If-Match", "\"0\"")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Patched\"}"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"1\""));
+		mockMvc.perform(patch(EMPLOYEES + "/" + id).header("If-Match", "\"0\"")
+						.contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Lost\"}"))
+				.andExpect(status().isPreconditionFailed());
+	}
+
+	@Test
+	void staleIfMatchOnDeleteIsRejected() throws Exception {
+		String id = create("Delete");
+		mockMvc.perform(patch(EMPLOYEES + "/" + id)
+						.contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Changed\"}"))
+				.andExpect(status().isOk());
+
+		mockMvc.perform(delete(EMPLOYEES + "/" + id).header("If-Match", "\"0\""))
+				.andExpect(status().isPreconditionFailed());
+		mockMvc.perform(get(EMPLOYEES + "/" + id))
+				.andExpect(status().isOk());
+		mockMvc.perform(delete(EMPLOYEES + "/" + id).header("If-Match", "\"1\""))
+				.andExpect(status().isNoContent());
+	}
+
+	@Test
+	void versionInTheBodyIsIgnored() throws Exception {
+		String body = mockMvc.perform(post(EMPLOYEES + "/save").contentType(MediaType.APPLICATION_JSON)
+						.content(json("Forged").replace("{", "{\"version\":7,")))
+				.andExpect(status().isCreated())
+				.andExpect(jsonPath("$.version").value(0))
+				.andReturn().getResponse().getContentAsString();
+		String id = JsonPath.read(body, "$.id");
+
+		mockMvc.perform(get(EMPLOYEES + "/" + id))
+				.andExpect(header().string("ETag", "\"0\""));
+	}
+
+	private String create(String name) throws Exception {
+		String body = mockMvc.perform(post(EMPLOYEES + "/save").contentType(MediaType.APPLICATION_JSON).content(json(name)))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		String id = JsonPath.read(body, "$.id");
+		assertThat(id).isNotBlank();
+		return id;
+	}
+
+	private static String json(String name) {
+		return "{\"name\":\"" + name + "\",\"salary\":40000,\"dept\":\"Tester\",\"gender\":\"F\",\"email\":\""
+				+ name.toLowerCase() + "." + System.nanoTime() + "@example.com\"}";
+	}
+}
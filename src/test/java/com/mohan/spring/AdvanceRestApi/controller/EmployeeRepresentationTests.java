@@ -0,0 +1,73 @@
+package com.mohan.spring.AdvanceRestApi.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+// GET /getall and /{id} keep their plain JSON shape; HAL links only when the client asks for application/hal+json
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeRepresentationTests {
+
+	private static final String EMPLOYEES = "/api/v1/employees";
+
+	@Autowired
+	MockMvc mockMvc;
+
+	private String id;
+
+	@BeforeEach
+	void createEmployee() throws Exception {
+		String body = mockMvc.perform(post(EMPLOYEES + "/save").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"name\":\"Shape\",\"salary\":40000,\"dept\":\"Tester\",\"gender\":\"F\",\"email\":\"shape."
+								+ System.nanoTime() + "@example.com\"}"))
+				.andExpect(status().isCreated())
+				.andReturn().getResponse().getContentAsString();
+		id = JsonPath.read(body, "$.id");
+	}
+
+	@Test
+	void employeeIsPlainJsonByDefault() throws Exception {
+		mockMvc.perform(get(EMPLOYEES + "/" + id))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.id").value(id))
+				.andExpect(jsonPath("$._links").doesNotExist());
+		mockMvc.perform(get(EMPLOYEES + "/" + id).accept(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$._links").doesNotExist());
+	}
+
+	@Test
+	void employeeIsHalWhenAsked() throws Exception {
+		mockMvc.perform(get(EMPLOYEES + "/" + id).accept(MediaTypes.HAL_JSON))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(MediaTypes.HAL_JSON))
+				.andExpect(jsonPath("$.id").value(id))
+				.andExpect(jsonPath("$._links.self.href").value("http://localhost" + EMPLOYEES + "/" + id));
+	}
+
+	@Test
+	void listIsAPlainArrayByDefaultAndHalWhenAsked() throws Exception {
+		mockMvc.perform(get(EMPLOYEES + "/getall"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$").isArray())
+				.andExpect(jsonPath("$[0].id").exists());
+		mockMvc.perform(get(EMPLOYEES + "/getall").param("size", "1").accept(MediaTypes.HAL_JSON))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$._embedded.employeeList[0].id").exists())
+				.andExpect(jsonPath("$._links.self.href").exists());
+	}
+}
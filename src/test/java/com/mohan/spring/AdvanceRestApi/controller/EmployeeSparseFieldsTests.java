@@ -0,0 +1,83 @@
+package com.mohan.spring.AdvanceRestApi.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+import com.mohan.spring.AdvanceRestApi.model.PageCursor;
+
+// ?fields= on the list finders: only the named columns come back, plus id when paging so the cursor can follow
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeSparseFieldsTests {
+
+	private static final String EMPLOYEES = "/api/v1/employees";
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@BeforeEach
+	void createEmployees() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			mockMvc.perform(post(EMPLOYEES + "/save").contentType(MediaType.APPLICATION_JSON)
+							.content("{\"name\":\"Sparse\",\"salary\":40000,\"dept\":\"Tester\",\"gender\":\"F\",\"email\":\"sparse."
+									+ System.nanoTime() + "@example.com\"}"))
+					.andExpect(status().isCreated());
+		}
+	}
+
+	@Test
+	void unknownFieldIsRejected() throws Exception {
+		mockMvc.perform(get(EMPLOYEES + "/findByGender").param("gender", "F").param("fields", "name,password"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message", containsString("Unknown field: password")));
+	}
+
+	@Test
+	void unpagedRowsHaveOnlyTheNamedFields() throws Exception {
+		mockMvc.perform(get(EMPLOYEES + "/findByGender").param("gender", "F").param("fields", "name, dept"))
+				.andExpect(status().isOk())
+				.andExpect(header().doesNotExist(PageCursor.HEADER))
+				.andExpect(jsonPath("$[0].name").exists())
+				.andExpect(jsonPath("$[0].dept").exists())
+				.andExpect(jsonPath("$[0].id").doesNotExist())
+				.andExpect(jsonPath("$[0].salary").doesNotExist());
+	}
+
+	@Test
+	void pagedRowsCarryIdAndTheCursorFollowsThem() throws Exception {
+		MockHttpServletResponse first = mockMvc.perform(get(EMPLOYEES + "/findByGender").param("gender", "F")
+						.param("fields", "name").param("size", "2"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[0].id").exists())
+				.andExpect(jsonPath("$[0].name").exists())
+				.andExpect(jsonPath("$[0].salary").doesNotExist())
+				.andReturn().getResponse();
+		List<String> firstIds = JsonPath.read(first.getContentAsString(), "$[*].id");
+		assertThat(first.getHeader(PageCursor.HEADER)).isEqualTo(PageCursor.encode(firstIds.get(1)));
+
+		String next = mockMvc.perform(get(EMPLOYEES + "/findByGender").param("gender", "F").param("fields", "name")
+						.param("size", "2").param("after", first.getHeader(PageCursor.HEADER)))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		List<String> nextIds = JsonPath.read(next, "$[*].id");
+		assertThat(nextIds).isNotEmpty().allSatisfy(id -> assertThat(id).isGreaterThan(firstIds.get(1)));
+	}
+}
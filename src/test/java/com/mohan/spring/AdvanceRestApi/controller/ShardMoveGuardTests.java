@@ -0,0 +1,83 @@
+package com.mohan.spring.AdvanceRestApi.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.mohan.spring.AdvanceRestApi.config.ShardDataSources;
+
+// Shard moves freeze writes in-process, so they are refused while another node's heartbeat is fresh;
+// they only take known prefixes, whose rows they match exactly
+@SpringBootTest(properties = {
+		"employee.shards.nodes[0].name=shard-a",
+		"employee.shards.nodes[0].url=jdbc:h2:mem:move-guard-a;DB_CLOSE_DELAY=-1",
+		"employee.shards.nodes[1].name=shard-b",
+		"employee.shards.nodes[1].url=jdbc:h2:mem:move-guard-b;DB_CLOSE_DELAY=-1",
+		"employee.shards.nodes[2].name=shard-c",
+		"employee.shards.nodes[2].url=jdbc:h2:mem:move-guard-c;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("shards")
+@AutoConfigureMockMvc
+class ShardMoveGuardTests {
+
+	private static final String OTHER_NODE = "other-node";
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	ShardDataSources shardDataSources;
+
+	@AfterEach
+	void removeOtherNode() {
+		home().update("DELETE FROM app_node WHERE node_id = ?", OTHER_NODE);
+	}
+
+	@Test
+	void movesAreRefusedWhileAnotherNodeIsAlive() throws Exception {
+		registerOtherNode(LocalDateTime.now());
+
+		mockMvc.perform(post("/api/v1/shards/rebalance"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message", containsString("2 are running")));
+		mockMvc.perform(post("/api/v1/shards/moves").param("prefix", "DEV").param("shard", "shard-c"))
+				.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	void nodeWithAnExpiredLeaseDoesNotCount() throws Exception {
+		registerOtherNode(LocalDateTime.now().minusHours(1));
+
+		mockMvc.perform(post("/api/v1/shards/moves").param("prefix", "DEV").param("shard", "shard-a"))
+				.andExpect(status().isAccepted());
+	}
+
+	@Test
+	void unknownPrefixIsRefused() throws Exception {
+		// A prefix of DEV would have matched DEV's rows as well
+		mockMvc.perform(post("/api/v1/shards/moves").param("prefix", "DE").param("shard", "shard-c"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message", containsString("Unknown id prefix DE")));
+	}
+
+	private void registerOtherNode(LocalDateTime heartbeat) {
+		home().update("INSERT INTO app_node (node_id, heartbeat_at) VALUES (?, ?)", OTHER_NODE, Timestamp.valueOf(heartbeat));
+	}
+
+	private JdbcTemplate home() {
+		return new JdbcTemplate(shardDataSources.get(shardDataSources.home()));
+	}
+}
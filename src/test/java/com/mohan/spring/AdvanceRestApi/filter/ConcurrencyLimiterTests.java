@@ -0,0 +1,148 @@
+package com.mohan.spring.AdvanceRestApi.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.mohan.spring.AdvanceRestApi.filter.ConcurrencyLimiter.Priority;
+
+// Class shares, priority order of waiters, shedding, and how latency samples move the limit
+class ConcurrencyLimiterTests {
+
+	private static final long WAIT = TimeUnit.SECONDS.toNanos(5);
+	private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	@Test
+	void eachClassStaysWithinItsShare() throws InterruptedException {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 4, 100, 2.0, 0.9, 0.5, 100);
+
+		assertThat(acquire(limiter, Priority.BULK, 6)).isEqualTo(5);
+		assertThat(acquire(limiter, Priority.NORMAL, 6)).isEqualTo(4);
+		assertThat(acquire(limiter, Priority.CRITICAL, 6)).isEqualTo(1);
+		assertThat(limiter.inFlight()).isEqualTo(10);
+	}
+
+	@Test
+	void freedSlotGoesToTheHighestWaitingClass() throws Exception {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 4, 100, 2.0, 1.0, 1.0, 100);
+		acquire(limiter, Priority.CRITICAL, 4);
+
+		CompletableFuture<Boolean> normal = CompletableFuture.supplyAsync(() -> acquire(limiter, Priority.NORMAL));
+		awaitQueued(limiter, 1);
+		CompletableFuture<Boolean> critical = CompletableFuture.supplyAsync(() -> acquire(limiter, Priority.CRITICAL));
+		awaitQueued(limiter, 2);
+
+		limiter.release(Priority.CRITICAL, -1);
+		assertThat(critical.get(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(normal).isNotDone();
+
+		limiter.release(Priority.CRITICAL, -1);
+		assertThat(normal.get(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void requestsAreShedWhenTheyCannotWaitOrTheQueueIsFull() throws Exception {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 4, 100, 2.0, 1.0, 1.0, 1);
+		acquire(limiter, Priority.NORMAL, 4);
+
+		assertThat(limiter.acquire(Priority.BULK, 0)).isFalse();
+		assertThat(limiter.acquire(Priority.NORMAL, MS)).isFalse();
+
+		CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> acquire(limiter, Priority.NORMAL));
+		awaitQueued(limiter, 1);
+		assertThat(limiter.acquire(Priority.CRITICAL, WAIT)).as("queue full").isFalse();
+
+		limiter.release(Priority.NORMAL, -1);
+		assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+	}
+
+	@Test
+	void limitGrowsFromWriteSamplesAlone() throws InterruptedException {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 4, 100, 2.0, 1.0, 1.0, 100);
+		int held = acquire(limiter, Priority.NORMAL, 10);
+
+		for (int i = 0; i < 200; i++) {
+			// Keep more than half the limit busy, or the samples say nothing about it
+			while (held < limiter.limit() / 2 && limiter.acquire(Priority.NORMAL, 0)) {
+				held++;
+			}
+			limiter.acquire(Priority.NORMAL, 0);
+			limiter.release(Priority.NORMAL, 5 * MS);
+		}
+
+		assertThat(limiter.limit()).isGreaterThan(20);
+	}
+
+	@Test
+	void limitShrinksWhenLatencyRisesPastTolerance() throws InterruptedException {
+		// Capped at 20 so the warm-up cannot grow it past what the held slots keep busy
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 4, 20, 2.0, 1.0, 1.0, 100);
+		acquire(limiter, Priority.NORMAL, 16);
+		for (int i = 0; i < 50; i++) {
+			resample(limiter, Priority.NORMAL, MS);
+		}
+		int before = limiter.limit();
+
+		for (int i = 0; i < 10; i++) {
+			resample(limiter, Priority.NORMAL, 20 * MS);
+		}
+
+		assertThat(limiter.limit()).isLessThan(before);
+	}
+
+	@Test
+	void slowClassIsJudgedAgainstItsOwnBaseline() throws InterruptedException {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 4, 30, 2.0, 1.0, 1.0, 100);
+		acquire(limiter, Priority.CRITICAL, 15);
+		int before = limiter.limit();
+
+		// Point reads take 1ms and bulk requests 200ms, steadily: not congestion
+		for (int i = 0; i < 100; i++) {
+			sample(limiter, Priority.CRITICAL, MS);
+			sample(limiter, Priority.BULK, 200 * MS);
+		}
+
+		assertThat(limiter.limit()).isGreaterThanOrEqualTo(before);
+	}
+
+	// Finish one of the held requests and start another in its place, if there is still room
+	private static void resample(ConcurrencyLimiter limiter, Priority priority, long rttNanos) throws InterruptedException {
+		limiter.release(priority, rttNanos);
+		limiter.acquire(priority, 0);
+	}
+
+	private static void sample(ConcurrencyLimiter limiter, Priority priority, long rttNanos) throws InterruptedException {
+		assertThat(limiter.acquire(priority, WAIT)).isTrue();
+		limiter.release(priority, rttNanos);
+	}
+
+	// How many of `count` immediate acquires were admitted
+	private static int acquire(ConcurrencyLimiter limiter, Priority priority, int count) throws InterruptedException {
+		int admitted = 0;
+		for (int i = 0; i < count; i++) {
+			if (limiter.acquire(priority, 0)) {
+				admitted++;
+			}
+		}
+		return admitted;
+	}
+
+	private static boolean acquire(ConcurrencyLimiter limiter, Priority priority) {
+		try {
+			return limiter.acquire(priority, WAIT);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private static void awaitQueued(ConcurrencyLimiter limiter, int queued) throws InterruptedException {
+		for (int i = 0; i < 500 && limiter.queued() < queued; i++) {
+			Thread.sleep(10);
+		}
+		assertThat(limiter.queued()).isEqualTo(queued);
+	}
+}
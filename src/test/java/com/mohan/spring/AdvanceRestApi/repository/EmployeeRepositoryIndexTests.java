@@ -0,0 +1,145 @@
+package com.mohan.spring.AdvanceRestApi.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSearch;
+
+import jakarta.persistence.EntityManager;
+
+// Checks with H2's EXPLAIN that the SQL Hibernate generates for each EmployeeRepository finder uses the intended index
+@DataJpaTest
+class EmployeeRepositoryIndexTests {
+
+	private static final List<String> statements = new CopyOnWriteArrayList<>();
+	// The index (or "EMPLOYEE" for a table scan) H2 reads the employee table with
+	private static final Pattern PLAN_INDEX = Pattern.compile("/\\*\\s*PUBLIC\\.(\\w+)");
+
+	@TestConfiguration
+	static class CaptureSql {
+
+		@Bean
+		HibernatePropertiesCustomizer captureSql() {
+			return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+				statements.add(sql);
+				return sql;
+			});
+		}
+	}
+
+	@Autowired
+	EntityManager entityManager;
+
+	@Autowired
+	EmployeeRepository employeeRepository;
+
+	@Autowired
+	DataSource dataSource;
+
+	@BeforeEach
+	void insertEmployees() {
+		for (int i = 1; i <= 200; i++) {
+			entityManager.createNativeQuery(
+					"INSERT INTO employee (id, name, salary, dept, gender, email) VALUES (?, ?, ?, ?, ?, ?)")
+					.setParameter(1, String.format("HR2025-%03d", i))
+					.setParameter(2, "Name" + i)
+					.setParameter(3, 20000.0 + i * 100)
+					.setParameter(4, i % 3 == 0 ? "HR" : i % 3 == 1 ? "Developer" : "Tester")
+					.setParameter(5, i % 2 == 0 ? "M" : "F")
+					.setParameter(6, "user" + i + "@example.com")
+					.executeUpdate();
+		}
+	}
+
+	// finder, the call, the values of its SQL parameters in order, expected index
+	static Stream<Arguments> finders() {
+		return Stream.of(
+			finder("findByEmail", r -> r.findByEmail("user7@example.com"),
+					List.of("user7@example.com"), "UX_EMPLOYEE_EMAIL"),
+			finder("findByDeptAndGender", r -> r.findByDeptAndGender("HR", "M"),
+					List.of("HR", "M"), "IX_EMPLOYEE_DEPT_GENDER"),
+			finder("findByGender", r -> r.findByGender("F"),
+					List.of("F"), "IX_EMPLOYEE_GENDER"),
+			finder("findBySalaryBetween", r -> r.findBySalaryBetween(20100, 20500),
+					List.of(20100.0, 20500.0), "IX_EMPLOYEE_SALARY"),
+			finder("findBySalaryGreaterThan", r -> r.findBySalaryGreaterThan(39900.0),
+					List.of(39900.0), "IX_EMPLOYEE_SALARY"),
+			finder("findBySalaryLessThan", r -> r.findBySalaryLessThan(20300.0),
+					List.of(20300.0), "IX_EMPLOYEE_SALARY"),
+			finder("findNameAndSalaryByDept", r -> r.findNameAndSalaryByDept("Tester"),
+					List.of("Tester"), "IX_EMPLOYEE_DEPT_NAME_SALARY"),
+			finder("findPageByDeptAndGender", r -> r.findPageByDeptAndGender("HR", "M", "", Pageable.ofSize(20)),
+					List.of("HR", "M", "", 20), "IX_EMPLOYEE_DEPT_GENDER"),
+			finder("updateEmployeeNameByIdAndOldName", r -> r.updateEmployeeNameByIdAndOldName("HR2025-001", "Name1", "New"),
+					List.of("New", "HR2025-001", "Name1"), "PRIMARY_KEY"),
+			finder("deleteByDeptAndGender", r -> r.deleteByDeptAndGender("HR", "M"),
+					List.of("HR", "M"), "IX_EMPLOYEE_DEPT_GENDER"),
+			finder("search emailPrefix", r -> r.search(search(null, "user1", null), null, Pageable.ofSize(20)),
+					List.of("user1%", 20), "UX_EMPLOYEE_EMAIL"),
+			finder("search namePrefix", r -> r.search(search(null, null, "Name1"), null, Pageable.ofSize(20)),
+					List.of("Name1%", 20), "IX_EMPLOYEE_NAME_SALARY")
+		);
+	}
+
+	@ParameterizedTest(name = "{0}")
+	@MethodSource("finders")
+	void finderUsesIndex(String finder, Consumer<EmployeeRepository> call, List<Object> parameters, String expectedIndex) {
+		entityManager.flush();
+		statements.clear();
+		call.accept(employeeRepository);
+		assertThat(statements).as(finder + " ran no SQL").isNotEmpty();
+		String sql = statements.get(statements.size() - 1);
+
+		String plan = new JdbcTemplate(dataSource).queryForObject("EXPLAIN " + sql, String.class, parameters.toArray());
+		Matcher index = PLAN_INDEX.matcher(plan.toUpperCase());
+
+		assertThat(index.find()).as(finder + " plan: " + plan).isTrue();
+		assertThat(index.group(1)).as(finder + " plan: " + plan).isEqualTo(indexName(expectedIndex));
+	}
+
+	// H2 names the primary key index PRIMARY_KEY_<n>
+	private String indexName(String expected) {
+		if (!expected.equals("PRIMARY_KEY")) {
+			return expected;
+		}
+		return new JdbcTemplate(dataSource).queryForObject("SELECT index_name FROM information_schema.indexes"
+				+ " WHERE table_name = 'EMPLOYEE' AND index_type_name = 'PRIMARY KEY'", String.class);
+	}
+
+	private static Arguments finder(String name, Consumer<EmployeeRepository> call, List<Object> parameters, String index) {
+		return Arguments.of(name, call, parameters, index);
+	}
+
+	private static EmployeeSearch search(List<String> dept, String emailPrefix, String namePrefix) {
+		EmployeeSearch search = new EmployeeSearch();
+		search.setDept(dept);
+		search.setEmailPrefix(emailPrefix);
+		search.setNamePrefix(namePrefix);
+		if (namePrefix != null) {
+			search.setSort(List.of("name"));
+		}
+		return search;
+	}
+}
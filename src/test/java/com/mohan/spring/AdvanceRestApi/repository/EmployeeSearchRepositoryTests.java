@@ -0,0 +1,83 @@
+package com.mohan.spring.AdvanceRestApi.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Pageable;
+
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSearch;
+import com.mohan.spring.AdvanceRestApi.model.SearchPage;
+
+import jakarta.persistence.EntityManager;
+
+// Keyset paging over several sort keys, with ties and NULL emails, returns every row exactly once in sort order
+@DataJpaTest
+class EmployeeSearchRepositoryTests {
+
+	@Autowired
+	EntityManager entityManager;
+
+	@Autowired
+	EmployeeRepository employeeRepository;
+
+	@BeforeEach
+	void insertEmployees() {
+		for (int i = 1; i <= 15; i++) {
+			entityManager.createNativeQuery(
+					"INSERT INTO employee (id, name, salary, dept, gender, email, version) VALUES (?, ?, ?, ?, ?, ?, 0)")
+					.setParameter(1, String.format("HR2025-%03d", i))
+					.setParameter(2, "Name" + (i % 4))
+					.setParameter(3, 20000.0 + (i % 3) * 1000)
+					.setParameter(4, i % 2 == 0 ? "HR" : "Tester")
+					.setParameter(5, "F")
+					// every third employee has no email
+					.setParameter(6, i % 3 == 0 ? null : "user" + (i % 5) + "." + i + "@example.com")
+					.executeUpdate();
+		}
+	}
+
+	static Stream<Arguments> sorts() {
+		return Stream.of(
+			Arguments.of(List.of("email"), 2),
+			Arguments.of(List.of("email,desc"), 2),
+			Arguments.of(List.of("email"), 1),
+			Arguments.of(List.of("email,desc"), 4),
+			Arguments.of(List.of("dept", "email,desc"), 2),
+			Arguments.of(List.of("dept,desc", "email"), 3),
+			Arguments.of(List.of("name", "salary,desc"), 2),
+			Arguments.of(List.of("salary", "name,desc", "email"), 1)
+		);
+	}
+
+	@ParameterizedTest(name = "sort={0} size={1}")
+	@MethodSource("sorts")
+	void pagesCoverEveryRowOnceInOrder(List<String> sort, int size) {
+		EmployeeSearch search = new EmployeeSearch();
+		search.setSort(sort);
+		List<Employee> all = employeeRepository.search(search, null, Pageable.ofSize(100)).employees();
+		assertThat(all).hasSize(15).isSortedAccordingTo(employeeRepository.searchOrder(search));
+
+		List<String> paged = new ArrayList<>();
+		String cursor = null;
+		for (int pages = 0; pages <= 15; pages++) {
+			SearchPage page = employeeRepository.search(search, cursor, Pageable.ofSize(size));
+			if (page.employees().isEmpty()) {
+				break;
+			}
+			page.employees().forEach(e -> paged.add(e.getId()));
+			cursor = page.nextCursor();
+		}
+
+		assertThat(paged).containsExactlyElementsOf(all.stream().map(Employee::getId).toList());
+	}
+}
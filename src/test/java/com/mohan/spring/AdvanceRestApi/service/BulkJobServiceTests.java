@@ -0,0 +1,74 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import static com.mohan.spring.AdvanceRestApi.TestEmployees.employee;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.mohan.spring.AdvanceRestApi.model.BulkJob;
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+import com.mohan.spring.AdvanceRestApi.model.JobStatus;
+import com.mohan.spring.AdvanceRestApi.model.JobType;
+import com.mohan.spring.AdvanceRestApi.repository.BulkJobRepository;
+import com.mohan.spring.AdvanceRestApi.repository.EmployeeRepository;
+
+// Jobs of a vanished node are failed once their lease expires; delete-all chunks respect the batch limit
+@SpringBootTest(properties = { "employee.jobs.chunk-size=50", "employee.batch.max-ids=10", "employee.jobs.lease=1h" })
+class BulkJobServiceTests {
+
+	@Autowired
+	BulkJobService bulkJobService;
+
+	@Autowired
+	BulkJobRepository jobRepository;
+
+	@Autowired
+	EmployeeService employeeService;
+
+	@Autowired
+	EmployeeRepository employeeRepository;
+
+	@Test
+	void jobWhoseLeaseExpiredIsFailed() {
+		BulkJob stale = job("pod-that-was-scaled-away", LocalDateTime.now().minusHours(2));
+		BulkJob alive = job("other-pod", LocalDateTime.now());
+
+		bulkJobService.failExpiredJobs();
+
+		assertThat(bulkJobService.getJob(stale.getId()).getStatus()).isEqualTo(JobStatus.FAILED);
+		assertThat(bulkJobService.getJob(alive.getId()).getStatus()).isEqualTo(JobStatus.RUNNING);
+		jobRepository.markFinished(alive.getId(), JobStatus.CANCELLED, null, LocalDateTime.now());
+	}
+
+	@Test
+	void deleteAllWithChunksLargerThanTheBatchLimitCompletes() throws InterruptedException {
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			employees.add(employee("Bulk" + i));
+		}
+		employeeService.saveEmpDetails(employees);
+
+		String id = bulkJobService.submitDeleteAll().getId();
+		BulkJob job = bulkJobService.getJob(id);
+		for (int i = 0; i < 100 && job.getFinishedAt() == null; i++) {
+			Thread.sleep(100);
+			job = bulkJobService.getJob(id);
+		}
+
+		assertThat(job.getStatus()).as(job.getMessage()).isEqualTo(JobStatus.COMPLETED);
+		assertThat(job.getFailed()).isZero();
+		assertThat(employeeRepository.count()).isZero();
+	}
+
+	private BulkJob job(String node, LocalDateTime heartbeatAt) {
+		return jobRepository.save(new BulkJob(UUID.randomUUID().toString(), JobType.DELETE_ALL, JobStatus.RUNNING, node,
+				0, 0, 0, false, null, heartbeatAt, heartbeatAt, null, heartbeatAt));
+	}
+}
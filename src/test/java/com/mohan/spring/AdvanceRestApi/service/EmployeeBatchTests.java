@@ -0,0 +1,61 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import static com.mohan.spring.AdvanceRestApi.TestEmployees.employee;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.mohan.spring.AdvanceRestApi.model.BatchItemResult;
+import com.mohan.spring.AdvanceRestApi.repository.EmployeeRepository;
+
+// A failing item of a batch PATCH/DELETE gets its own status and leaves the rest of the batch applied
+@SpringBootTest
+class EmployeeBatchTests {
+
+	@Autowired
+	EmployeeService employeeService;
+
+	@Autowired
+	EmployeeRepository employeeRepository;
+
+	@Test
+	void patchAppliesTheValidItemsOnly() {
+		String ok = employeeService.saveEmployeeData(employee("Ok")).getId();
+		String bad = employeeService.saveEmployeeData(employee("Bad")).getId();
+
+		Map<String, Object> halfValid = new LinkedHashMap<>();
+		halfValid.put("name", "Half");
+		halfValid.put("email", "not@patchable.com");
+		Map<String, Map<String, Object>> patches = new LinkedHashMap<>();
+		patches.put(ok, Map.of("name", "Renamed"));
+		patches.put(bad, halfValid);
+		patches.put("TEST2000-999", Map.of("name", "Nobody"));
+
+		List<BatchItemResult> results = employeeService.patchEmployees(patches);
+
+		assertThat(results).extracting(BatchItemResult::getId, BatchItemResult::getStatus)
+				.containsExactly(tuple(ok, 200), tuple(bad, 400), tuple("TEST2000-999", 404));
+		assertThat(employeeRepository.findById(ok)).hasValueSatisfying(e -> assertThat(e.getName()).isEqualTo("Renamed"));
+		// The name was set before the bad field failed; it must not have been flushed
+		assertThat(employeeRepository.findById(bad)).hasValueSatisfying(e -> assertThat(e.getName()).isEqualTo("Bad"));
+	}
+
+	@Test
+	void deleteReportsMissingIdsAndDeletesTheRest() {
+		String first = employeeService.saveEmployeeData(employee("First")).getId();
+		String second = employeeService.saveEmployeeData(employee("Second")).getId();
+
+		List<BatchItemResult> results = employeeService.deleteEmployees(List.of(first, "TEST2000-999", second));
+
+		assertThat(results).extracting(BatchItemResult::getId, BatchItemResult::getStatus)
+				.containsExactly(tuple(first, 204), tuple("TEST2000-999", 404), tuple(second, 204));
+		assertThat(employeeRepository.findAllById(List.of(first, second))).isEmpty();
+	}
+}
@@ -0,0 +1,89 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import static com.mohan.spring.AdvanceRestApi.TestEmployees.employee;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mohan.spring.AdvanceRestApi.exception.EmployeeNotFoundException;
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+
+// The id/email cache is evicted after the writing transaction commits, and only then
+@SpringBootTest
+class EmployeeCacheTests {
+
+	@Autowired
+	EmployeeService employeeService;
+
+	@Autowired
+	EmployeeCache employeeCache;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Test
+	void updateIsSeenAfterCommitEvenIfTheOldRowWasCachedMeanwhile() {
+		String id = employeeService.saveEmployeeData(employee("Before")).getId();
+		assertThat(employeeService.getEmployeeById(id).getName()).isEqualTo("Before");
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			employeeService.updateWithNewName(id, "Before", "After", null);
+			// Not evicted yet: the update can still roll back
+			assertThat(employeeCache.peekById(id)).hasValueSatisfying(e -> assertThat(e.getName()).isEqualTo("Before"));
+			// Another request reloads the committed (old) row while the update is still open
+			employeeCache.employeesChanged(null, null);
+			assertThat(CompletableFuture.supplyAsync(() -> employeeService.getEmployeeById(id).getName()).join())
+					.isEqualTo("Before");
+		});
+
+		assertThat(employeeService.getEmployeeById(id).getName()).isEqualTo("After");
+	}
+
+	@Test
+	void rolledBackUpdateKeepsTheCachedEmployee() {
+		String id = employeeService.saveEmployeeData(employee("Kept")).getId();
+		employeeService.getEmployeeById(id);
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			employeeService.updateWithNewName(id, "Kept", "Lost", null);
+			status.setRollbackOnly();
+		});
+
+		assertThat(employeeCache.peekById(id)).hasValueSatisfying(e -> assertThat(e.getName()).isEqualTo("Kept"));
+		assertThat(employeeService.getEmployeeById(id).getName()).isEqualTo("Kept");
+	}
+
+	@Test
+	void deleteEvictsTheEmployeeAndItsEmail() {
+		Employee saved = employeeService.saveEmployeeData(employee("Gone"));
+		employeeService.getEmployeeById(saved.getId());
+		employeeService.getEmployeeByEmail(saved.getEmail());
+
+		employeeService.deleteEmpById(saved.getId(), null);
+
+		assertThatThrownBy(() -> employeeService.getEmployeeById(saved.getId()))
+				.isInstanceOf(EmployeeNotFoundException.class);
+		assertThatThrownBy(() -> employeeService.getEmployeeByEmail(saved.getEmail()))
+				.isInstanceOf(EmployeeNotFoundException.class);
+	}
+
+	@Test
+	void insertReplacesANegativeEntryForTheEmail() {
+		String email = "cache." + System.nanoTime() + "@example.com";
+		assertThatThrownBy(() -> employeeService.getEmployeeByEmail(email))
+				.isInstanceOf(EmployeeNotFoundException.class);
+
+		Employee employee = employee("Later");
+		employee.setEmail(email);
+		String id = employeeService.saveEmployeeData(employee).getId();
+
+		assertThat(employeeService.getEmployeeByEmail(email).getId()).isEqualTo(id);
+	}
+}
@@ -0,0 +1,69 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.Queue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.mohan.spring.AdvanceRestApi.repository.EmployeeChangeRepository;
+
+// A delivery that fails on the database is left for the next poll or heartbeat instead of being re-queued at once
+class EmployeeChangeFeedDeliveryTests {
+
+	private final Queue<Runnable> fanOut = new ArrayDeque<>();
+	private final EmployeeChangeRepository changeRepository = mock(EmployeeChangeRepository.class);
+	private EmployeeChangeFeed feed;
+
+	@BeforeEach
+	void startFeed() {
+		when(changeRepository.findLastOffset()).thenReturn(Optional.of(10L));
+		when(changeRepository.findFirstOffset()).thenReturn(Optional.of(1L));
+		when(changeRepository.findAfter(anyLong(), any(Pageable.class)))
+				.thenThrow(new DataAccessResourceFailureException("database is down"));
+
+		feed = new EmployeeChangeFeed(100);
+		feed.changeRepository = changeRepository;
+		feed.fanOutExecutor = new ThreadPoolTaskExecutor() {
+			@Override
+			public void execute(Runnable task) {
+				fanOut.add(task);
+			}
+		};
+		feed.enabled = true;
+		feed.batchSize = 50;
+		feed.pollInterval = Duration.ofHours(1);
+		feed.heartbeat = Duration.ofHours(1);
+		feed.emitterTimeout = Duration.ofMinutes(1);
+		feed.retention = Duration.ofDays(7);
+		feed.start();
+	}
+
+	@AfterEach
+	void stopFeed() {
+		feed.stop();
+	}
+
+	@Test
+	void failedCatchUpIsNotRequeuedAtOnce() {
+		feed.subscribe(5L, false);
+		assertThat(fanOut).hasSize(1);
+
+		fanOut.poll().run();
+
+		assertThat(fanOut).as("re-queued after the failure").isEmpty();
+		assertThat(feed.subscriberCount()).isEqualTo(1);
+	}
+}
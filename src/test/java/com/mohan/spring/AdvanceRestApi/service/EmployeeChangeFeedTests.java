@@ -0,0 +1,94 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import static com.mohan.spring.AdvanceRestApi.TestEmployees.employee;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.jayway.jsonpath.JsonPath;
+import com.mohan.spring.AdvanceRestApi.repository.EmployeeChangeRepository;
+
+// A subscriber resuming with ?after= gets every later outbox event once, in offset order, or 410 once they were purged
+@SpringBootTest
+@AutoConfigureMockMvc
+class EmployeeChangeFeedTests {
+
+	private static final String CHANGES = "/api/v1/employees/changes";
+
+	@Autowired
+	MockMvc mockMvc;
+
+	@Autowired
+	EmployeeService employeeService;
+
+	@Autowired
+	EmployeeChangeRepository changeRepository;
+
+	@Test
+	void resumeDeliversLaterEventsInOffsetOrder() throws Exception {
+		long start = changeRepository.findLastOffset().orElse(0L);
+		List<String> ids = saveEmployees(5);
+
+		List<String> all = events(start, 5);
+		assertThat(all).extracting(event -> offsetOf(event) - start).containsExactly(1L, 2L, 3L, 4L, 5L);
+		assertThat(all).extracting(event -> (String) JsonPath.read(event, "$.employeeId")).containsExactlyElementsOf(ids);
+
+		List<String> rest = events(start + 3, 2);
+		assertThat(rest).extracting(event -> offsetOf(event) - start).containsExactly(4L, 5L);
+	}
+
+	@Test
+	void resumeFromAPurgedOffsetIsGone() throws Exception {
+		long start = changeRepository.findLastOffset().orElse(0L);
+		saveEmployees(2);
+		// Read them once, so the feed has seen both events
+		events(start, 2);
+
+		changeRepository.deleteOlderThan(LocalDateTime.now().plusSeconds(1));
+
+		mockMvc.perform(get(CHANGES).param("after", String.valueOf(start)).accept(MediaType.APPLICATION_NDJSON))
+				.andExpect(status().isGone());
+	}
+
+	private List<String> saveEmployees(int count) {
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			ids.add(employeeService.saveEmployeeData(employee("Feed")).getId());
+		}
+		return ids;
+	}
+
+	// The first `count` NDJSON events of a subscription after `after`
+	private List<String> events(long after, int count) throws Exception {
+		MvcResult result = mockMvc.perform(get(CHANGES).param("after", String.valueOf(after)).accept(MediaType.APPLICATION_NDJSON))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		List<String> events = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			events = result.getResponse().getContentAsString().lines().filter(line -> !line.isBlank()).toList();
+			if (events.size() >= count) {
+				break;
+			}
+			Thread.sleep(100);
+		}
+		assertThat(events).hasSize(count);
+		return events;
+	}
+
+	private static long offsetOf(String event) {
+		return ((Number) JsonPath.read(event, "$.offset")).longValue();
+	}
+}
@@ -0,0 +1,93 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import static com.mohan.spring.AdvanceRestApi.TestEmployees.employee;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+
+// Many more callers than connections, and blocks small enough that they run out all the time
+@SpringBootTest(properties = {
+		"employee.id.block-size=3",
+		"spring.datasource.hikari.maximum-pool-size=4",
+		"spring.datasource.hikari.connection-timeout=2000"
+})
+class EmployeeIdAllocatorTests {
+
+	private static final int THREADS = 32;
+	private static final int IDS_PER_THREAD = 25;
+
+	@Autowired
+	EmployeeIdAllocator employeeIdAllocator;
+
+	@Autowired
+	EmployeeService employeeService;
+
+	@Test
+	void concurrentCallersGetUniqueIdsWithoutExhaustingThePool() throws Exception {
+		List<String> ids = runConcurrently(() -> {
+			List<String> mine = new ArrayList<>();
+			for (int i = 0; i < IDS_PER_THREAD; i++) {
+				mine.add(employeeIdAllocator.nextId("HR"));
+			}
+			return mine;
+		});
+
+		Set<String> unique = new HashSet<>(ids);
+		assertThat(ids).hasSize(THREADS * IDS_PER_THREAD);
+		assertThat(unique).hasSize(ids.size());
+		assertThat(ids).allMatch(id -> id.matches("HR\\d{4}-\\d{3,}"));
+	}
+
+	// Each save holds a connection for its insert; reserving a block while holding it would exhaust the pool
+	@Test
+	void concurrentSavesDoNotDeadlockThePool() throws Exception {
+		List<String> ids = runConcurrently(() -> {
+			List<String> mine = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				mine.add(employeeService.saveEmployeeData(pool()).getId());
+			}
+			for (Employee saved : employeeService.saveEmpDetails(List.of(pool(), pool(), pool()))) {
+				mine.add(saved.getId());
+			}
+			return mine;
+		});
+
+		assertThat(new HashSet<>(ids)).hasSize(THREADS * 7);
+	}
+
+	// Every task's results; a task that failed (e.g. a pool timeout) fails the test
+	private static List<String> runConcurrently(Callable<List<String>> task) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<List<String>>> futures = new ArrayList<>();
+			for (int t = 0; t < THREADS; t++) {
+				futures.add(pool.submit(task));
+			}
+			List<String> all = new ArrayList<>();
+			for (Future<List<String>> future : futures) {
+				all.addAll(future.get(60, TimeUnit.SECONDS));
+			}
+			return all;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static Employee pool() {
+		return employee("Pool", "Developer", "M");
+	}
+}
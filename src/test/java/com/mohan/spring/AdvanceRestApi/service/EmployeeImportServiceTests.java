@@ -0,0 +1,41 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.mohan.spring.AdvanceRestApi.model.ImportSummary;
+
+@SpringBootTest
+class EmployeeImportServiceTests {
+
+	@Autowired
+	EmployeeImportService employeeImportService;
+
+	@Test
+	void duplicateEmailRejectsOnlyItsLine() throws Exception {
+		String run = Long.toString(System.nanoTime(), 36);
+		String ndjson = String.join("\n",
+				record("Alice", "alice." + run + "@example.com"),
+				record("Bob", "bob." + run + "@example.com"),
+				record("Alicia", "alice." + run + "@example.com"),
+				record("Carol", "carol." + run + "@example.com"));
+
+		ImportSummary summary = employeeImportService.importNdjson(
+				new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+		assertThat(summary.getAccepted()).isEqualTo(3);
+		assertThat(summary.getRejected()).isEqualTo(1);
+		assertThat(summary.getErrors()).singleElement()
+				.satisfies(error -> assertThat(error.getLine()).isEqualTo(3));
+	}
+
+	private static String record(String name, String email) {
+		return "{\"name\":\"" + name + "\",\"salary\":50000,\"dept\":\"HR\",\"gender\":\"F\",\"email\":\"" + email + "\"}";
+	}
+}
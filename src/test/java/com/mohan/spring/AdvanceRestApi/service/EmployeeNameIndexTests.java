@@ -0,0 +1,183 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.nullable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSnapshot;
+import com.mohan.spring.AdvanceRestApi.model.NameMatch;
+import com.mohan.spring.AdvanceRestApi.repository.EmployeeRepository;
+
+// Fuzzy search ranking and upkeep of the trigram lists, over an in-memory employee table
+class EmployeeNameIndexTests {
+
+	// id -> snapshot, standing in for the employee table the index loads from
+	private final Map<String, EmployeeSnapshot> table = new ConcurrentHashMap<>();
+	private final EmployeeRepository employeeRepository = mock(EmployeeRepository.class);
+	private final EmployeeShards employeeShards = mock(EmployeeShards.class);
+	private Runnable duringLoad = () -> { };
+	private EmployeeNameIndex index;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void buildIndex() {
+		when(employeeShards.shards()).thenReturn(List.of("default"));
+		when(employeeShards.inTransaction(anyString(), anyBoolean(), any()))
+				.thenAnswer(invocation -> ((Supplier<Object>) invocation.getArgument(2)).get());
+		when(employeeRepository.streamNameFacts(nullable(String.class), nullable(String.class))).thenAnswer(invocation -> {
+			String dept = invocation.getArgument(0);
+			String gender = invocation.getArgument(1);
+			List<Object[]> rows = table.values().stream()
+					.filter(e -> (dept == null || dept.equals(e.dept())) && (gender == null || gender.equals(e.gender())))
+					.map(e -> new Object[] { e.id(), e.name(), e.email(), e.dept(), e.gender() })
+					.toList();
+			duringLoad.run();
+			return rows.stream();
+		});
+
+		index = new EmployeeNameIndex(0.3);
+		index.employeeRepository = employeeRepository;
+		index.employeeShards = employeeShards;
+		store("TEST2025-001", "Margaret Hamilton", "Tester", "F");
+		store("TEST2025-002", "Margarita Lopez", "Tester", "F");
+		store("DEV2025-001", "Grace Hopper", "Developer", "F");
+		store("DEV2025-002", "Anna Smith", "Developer", "F");
+		store("DEV2025-003", "Anna Smithson", "Developer", "F");
+		store("HR2025-001", "Annabel Smyth", "HR", "F");
+		index.rebuildAll();
+	}
+
+	@Test
+	void misspeltNameStillMatches() {
+		assertThat(ids(index.search("Margret Hamiltn", 10))).first().isEqualTo("TEST2025-001");
+		assertThat(ids(index.search("gracehop", 10))).containsExactly("DEV2025-001");
+		assertThat(index.search("zzzz", 10)).isEmpty();
+	}
+
+	@Test
+	void emailLocalPartIsSearchedToo() {
+		change(null, new EmployeeSnapshot("GEN2025-001", "Bob Stone", "Other", "M", 1.0, "rocky.balboa@example.com"));
+
+		assertThat(ids(index.search("balboa", 10))).containsExactly("GEN2025-001");
+	}
+
+	@Test
+	void exactMatchRanksAboveLongerAndMisspeltNames() {
+		List<NameMatch> matches = index.search("Anna Smith", 10);
+
+		assertThat(ids(matches)).startsWith("DEV2025-002", "DEV2025-003", "HR2025-001");
+		assertThat(matches.get(0).score()).isEqualTo(1.0);
+		assertThat(matches).extracting(NameMatch::score).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+	}
+
+	@Test
+	void limitKeepsTheBestMatches() {
+		assertThat(ids(index.search("Anna Smith", 2))).containsExactly("DEV2025-002", "DEV2025-003");
+		assertThat(index.search("Anna Smith", 1)).extracting(NameMatch::name).containsExactly("Anna Smith");
+	}
+
+	@Test
+	void updatedAndDeletedEmployeesDropOut() {
+		EmployeeSnapshot grace = table.get("DEV2025-001");
+		EmployeeSnapshot renamed = new EmployeeSnapshot(grace.id(), "Ada Lovelace", grace.dept(), grace.gender(), 1.0, grace.email());
+		change(grace, renamed);
+		change(table.get("TEST2025-002"), null);
+
+		assertThat(ids(index.search("Lovelace", 10))).containsExactly("DEV2025-001");
+		assertThat(index.search("Grace Hopper", 10)).extracting(NameMatch::name).doesNotContain("Grace Hopper");
+		assertThat(ids(index.search("Margarita Lopez", 10))).doesNotContain("TEST2025-002");
+		assertThat(index.size()).isEqualTo(5);
+	}
+
+	@Test
+	void compactionRenumbersWithoutMixingUpEmployees() {
+		for (int i = 0; i < 2000; i++) {
+			change(null, snapshot("GEN2025-" + i, "Worker" + i, "Other", "M"));
+		}
+		// 1500 dead documents out of 3500 passes the quarter mark, more than once
+		for (int i = 0; i < 1500; i++) {
+			change(table.get("GEN2025-" + i), snapshot("GEN2025-" + i, "Renamed" + i, "Other", "M"));
+		}
+
+		assertThat(index.size()).isEqualTo(2006);
+		assertThat(index.search("Renamed1234", 1)).extracting(NameMatch::id).containsExactly("GEN2025-1234");
+		assertThat(index.search("Worker1750", 1)).extracting(NameMatch::id).containsExactly("GEN2025-1750");
+		assertThat(index.search("Worker1234", 1)).extracting(NameMatch::name).doesNotContain("Worker1234");
+		assertThat(ids(index.search("Anna Smith", 1))).containsExactly("DEV2025-002");
+
+		change(null, snapshot("GEN2025-new", "Latecomer", "Other", "M"));
+		assertThat(ids(index.search("Latecomer", 1))).containsExactly("GEN2025-new");
+	}
+
+	@Test
+	void bulkChangeReloadsOnlyTheAffectedRows() {
+		table.remove("TEST2025-002");
+		store("TEST2025-003", "Hedy Lamarr", "Tester", "F");
+		table.put("TEST2025-001", snapshot("TEST2025-001", "Katherine Johnson", "Tester", "F"));
+		// Outside the filter: left as indexed, even though the table changed
+		table.put("DEV2025-001", snapshot("DEV2025-001", "Ada Lovelace", "Developer", "F"));
+
+		index.employeesChanged("Tester", null);
+
+		assertThat(ids(index.search("Hedy Lamarr", 10))).containsExactly("TEST2025-003");
+		assertThat(ids(index.search("Katherine", 10))).containsExactly("TEST2025-001");
+		assertThat(ids(index.search("Margarita Lopez", 10))).doesNotContain("TEST2025-002");
+		assertThat(ids(index.search("Margaret Hamilton", 10))).doesNotContain("TEST2025-001");
+		assertThat(ids(index.search("Grace Hopper", 10))).containsExactly("DEV2025-001");
+		assertThat(index.size()).isEqualTo(6);
+	}
+
+	@Test
+	void searchesAndSingleChangesGoOnWhileABulkReloadReads() {
+		EmployeeSnapshot margaret = table.get("TEST2025-001");
+		EmployeeSnapshot renamed = snapshot(margaret.id(), "Rosalind Franklin", "Tester", "F");
+		duringLoad = () -> CompletableFuture.runAsync(() -> {
+			assertThat(ids(index.search("Margaret", 10))).contains("TEST2025-001");
+			table.put(renamed.id(), renamed);
+			index.employeeChanged(margaret, renamed);
+		}).orTimeout(5, TimeUnit.SECONDS).join();
+
+		index.employeesChanged("Tester", null);
+
+		// The reload read Margaret before the rename; the rename is newer and stays
+		assertThat(ids(index.search("Rosalind", 10))).containsExactly("TEST2025-001");
+		assertThat(ids(index.search("Margaret Hamilton", 10))).doesNotContain("TEST2025-001");
+		assertThat(index.size()).isEqualTo(6);
+	}
+
+	private void store(String id, String name, String dept, String gender) {
+		table.put(id, snapshot(id, name, dept, gender));
+	}
+
+	private void change(EmployeeSnapshot before, EmployeeSnapshot after) {
+		if (after != null) {
+			table.put(after.id(), after);
+		} else {
+			table.remove(before.id());
+		}
+		index.employeeChanged(before, after);
+	}
+
+	private static EmployeeSnapshot snapshot(String id, String name, String dept, String gender) {
+		return new EmployeeSnapshot(id, name, dept, gender, 40000.0, id.toLowerCase() + "@example.com");
+	}
+
+	private static List<String> ids(List<NameMatch> matches) {
+		return new ArrayList<>(matches.stream().map(NameMatch::id).toList());
+	}
+}
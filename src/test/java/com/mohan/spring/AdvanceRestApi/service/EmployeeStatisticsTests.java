@@ -0,0 +1,61 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.mohan.spring.AdvanceRestApi.model.EmployeeSnapshot;
+import com.mohan.spring.AdvanceRestApi.model.SalaryStats;
+
+// Change notifications can arrive after a rebuild already read the row; applying them again must not skew the stats
+class EmployeeStatisticsTests {
+
+	private final EmployeeStatistics statistics = new EmployeeStatistics(new double[] { 50000 });
+
+	@Test
+	void repeatedInsertIsCountedOnce() {
+		EmployeeSnapshot alice = snapshot("HR2025-001", "HR", 40000.0);
+		statistics.employeeChanged(null, alice);
+		statistics.employeeChanged(null, alice);
+
+		SalaryStats hr = statistics.getStats("HR", "F").get(0);
+		assertThat(hr.getCount()).isEqualTo(1);
+		assertThat(hr.getTotalSalary()).isEqualTo(40000.0);
+	}
+
+	@Test
+	void updateReplacesTheOldSalaryEvenIfItsBeforeIsStale() {
+		statistics.employeeChanged(null, snapshot("HR2025-001", "HR", 40000.0));
+		// before says 30000, but 40000 is what was counted
+		statistics.employeeChanged(snapshot("HR2025-001", "HR", 30000.0), snapshot("HR2025-001", "HR", 60000.0));
+
+		SalaryStats hr = statistics.getStats("HR", "F").get(0);
+		assertThat(hr.getCount()).isEqualTo(1);
+		assertThat(hr.getMinSalary()).isEqualTo(60000.0);
+		assertThat(hr.getHistogram()).containsEntry("0-50000", 0L).containsEntry(">=50000", 1L);
+	}
+
+	@Test
+	void departmentChangeMovesTheEmployee() {
+		statistics.employeeChanged(null, snapshot("HR2025-001", "HR", 40000.0));
+		statistics.employeeChanged(snapshot("HR2025-001", "HR", 40000.0), snapshot("HR2025-001", "Tester", 40000.0));
+
+		assertThat(statistics.getStats("HR", null)).isEmpty();
+		assertThat(statistics.getStats("Tester", null)).singleElement()
+				.satisfies(stats -> assertThat(stats.getCount()).isEqualTo(1));
+	}
+
+	@Test
+	void deleteOfAnUncountedEmployeeRemovesNothing() {
+		statistics.employeeChanged(null, snapshot("HR2025-001", "HR", 40000.0));
+		statistics.employeeChanged(snapshot("HR2025-002", "HR", 40000.0), null);
+		statistics.employeeChanged(snapshot("HR2025-001", "HR", 40000.0), null);
+		statistics.employeeChanged(snapshot("HR2025-001", "HR", 40000.0), null);
+
+		assertThat(statistics.getStats("HR", null)).isEmpty();
+	}
+
+	private static EmployeeSnapshot snapshot(String id, String dept, Double salary) {
+		return new EmployeeSnapshot(id, "Alice", dept, "F", salary, null);
+	}
+}
@@ -0,0 +1,176 @@
+package com.mohan.spring.AdvanceRestApi.service;
+
+import static com.mohan.spring.AdvanceRestApi.TestEmployees.employee;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.mohan.spring.AdvanceRestApi.config.ShardDataSources;
+import com.mohan.spring.AdvanceRestApi.exception.ShardMovingException;
+import com.mohan.spring.AdvanceRestApi.model.BatchItemResult;
+import com.mohan.spring.AdvanceRestApi.model.Employee;
+import com.mohan.spring.AdvanceRestApi.repository.EmployeeSpecifications;
+
+// Three shards, with pools that do not auto-commit as in the prod profile: a prefix moved while it is being
+// written keeps every write, and cross-shard reads, sparse rows and batches come back in order
+@SpringBootTest(properties = {
+		"employee.shards.nodes[0].name=shard-a",
+		"employee.shards.nodes[0].url=jdbc:h2:mem:shard-move-a;DB_CLOSE_DELAY=-1",
+		"employee.shards.nodes[1].name=shard-b",
+		"employee.shards.nodes[1].url=jdbc:h2:mem:shard-move-b;DB_CLOSE_DELAY=-1",
+		"employee.shards.nodes[2].name=shard-c",
+		"employee.shards.nodes[2].url=jdbc:h2:mem:shard-move-c;DB_CLOSE_DELAY=-1",
+		"employee.shards.move-chunk-size=5",
+		"spring.datasource.hikari.auto-commit=false",
+		"spring.jpa.properties.hibernate.connection.provider_disables_autocommit=true"
+})
+@ActiveProfiles("shards")
+class ShardMoveTests {
+
+	@Autowired
+	EmployeeService employeeService;
+
+	@Autowired
+	EmployeeShards employeeShards;
+
+	@Autowired
+	ShardRebalancer shardRebalancer;
+
+	@Autowired
+	ShardDataSources shardDataSources;
+
+	@Test
+	void moveKeepsWritesMadeDuringTheCopy() throws Exception {
+		String from = employeeShards.shardOfPrefix("DEV");
+		// Including developers saved by the other tests, which move too
+		Map<String, String> names = new ConcurrentHashMap<>();
+		jdbc(from).query("SELECT id, name FROM employee WHERE id LIKE 'DEV%'", rs -> { names.put(rs.getString(1), rs.getString(2)); });
+		employeeService.saveEmpDetails(developers("Seed", 40)).forEach(e -> names.put(e.getId(), e.getName()));
+		String hr = employeeService.saveEmployeeData(employee("Stays", "HR", "F")).getId();
+		String to = shardDataSources.all().keySet().stream().filter(s -> !s.equals(from)).findFirst().orElseThrow();
+
+		AtomicBoolean moving = new AtomicBoolean(true);
+		CompletableFuture<Integer> writes = CompletableFuture.supplyAsync(() -> writeWhile(moving, names));
+		shardRebalancer.move("DEV", to, rows -> pause());
+		moving.set(false);
+		assertThat(writes.get(30, TimeUnit.SECONDS)).as("writes during the move").isPositive();
+
+		assertThat(employeeShards.shardOfPrefix("DEV")).isEqualTo(to);
+		assertThat(count(from, "employee", "DEV%")).isZero();
+		assertThat(count(from, "employee_id_sequence", "DEV%")).isZero();
+		assertThat(count(to, "employee_id_sequence", "DEV%")).isPositive();
+		assertThat(count(to, "employee", "DEV%")).isEqualTo(names.size());
+		names.forEach((id, name) -> assertThat(employeeService.getEmployeeById(id).getName()).as(id).isEqualTo(name));
+		assertThat(employeeService.getEmployeeById(hr).getName()).isEqualTo("Stays");
+
+		// The sequences moved with the rows: new ids continue after the moved ones, on the new shard
+		List<String> added = employeeService.saveEmpDetails(developers("After", 5)).stream().map(Employee::getId).toList();
+		assertThat(added).doesNotContainAnyElementsOf(names.keySet());
+		assertThat(count(to, "employee", "DEV%")).isEqualTo(names.size() + 5);
+	}
+
+	@Test
+	void gatherMergesShardsInIdOrderAndKeepsThePageSize() {
+		employeeService.saveEmpDetails(List.of(employee("Merge", "HR", "M"), employee("Merge", "Tester", "M"),
+				employee("Merge", "Developer", "M"), employee("Merge", "Tester", "M"), employee("Merge", "HR", "M")));
+		List<String> all = new ArrayList<>();
+		for (String shard : shardDataSources.all().keySet()) {
+			all.addAll(jdbc(shard).queryForList("SELECT id FROM employee WHERE gender = 'M'", String.class));
+		}
+		all.sort(Comparator.naturalOrder());
+
+		List<String> page = employeeService.findByGender("M", null, 3).stream().map(Employee::getId).toList();
+		List<String> unpaged = employeeService.findByGender("M").stream().map(Employee::getId).toList();
+
+		assertThat(page).containsExactlyElementsOf(all.subList(0, 3));
+		assertThat(unpaged).containsExactlyElementsOf(all);
+	}
+
+	@Test
+	void gatheredSparseRowsAreInIdOrderWithoutAnUnaskedId() {
+		employeeService.saveEmpDetails(List.of(employee("Sparse", "Tester", "M"), employee("Sparse", "HR", "M")));
+		// HR ids sort before TEST ids, but now come from the last shard
+		shardRebalancer.move("HR", "shard-c", rows -> { });
+
+		List<Map<String, Object>> rows = employeeService.findFields("email", EmployeeSpecifications.gender("M"), null, null);
+
+		assertThat(rows).allSatisfy(row -> assertThat(row).containsOnlyKeys("email"));
+		assertThat(rows).extracting(row -> row.get("email"))
+				.containsExactlyElementsOf(employeeService.findByGender("M").stream().map(Employee::getEmail).toList());
+	}
+
+	@Test
+	void batchResultsFollowTheRequestOrderAcrossShards() {
+		List<Employee> saved = employeeService.saveEmpDetails(List.of(employee("Batch", "Tester", "F"),
+				employee("Batch", "HR", "F"), employee("Batch", "Tester", "F"), employee("Batch", "HR", "F")));
+		List<String> ids = List.of(saved.get(0).getId(), saved.get(1).getId(), "HR2000-999", saved.get(2).getId(),
+				saved.get(3).getId());
+		assertThat(ids.stream().map(employeeShards::shardOfId).distinct()).hasSize(2);
+
+		List<BatchItemResult> results = employeeService.deleteEmployees(ids);
+
+		assertThat(results).extracting(BatchItemResult::getId).containsExactlyElementsOf(ids);
+		assertThat(results).extracting(BatchItemResult::getStatus).containsExactly(204, 204, 404, 204, 204);
+	}
+
+	// Inserts developers and renames the seeded ones until the move is over; every write that succeeded is in names
+	private int writeWhile(AtomicBoolean moving, Map<String, String> names) {
+		List<String> seeded = new ArrayList<>(names.keySet());
+		int writes = 0;
+		for (int i = 0; moving.get(); i++) {
+			try {
+				if (i % 2 == 0) {
+					Employee saved = employeeService.saveEmployeeData(employee("During", "Developer", "M"));
+					names.put(saved.getId(), saved.getName());
+				} else {
+					String id = seeded.get(i % seeded.size());
+					String name = "Renamed" + i;
+					employeeService.updateWithNewName(id, names.get(id), name, null);
+					names.put(id, name);
+				}
+				writes++;
+			} catch (ShardMovingException e) {
+				// Held past move-write-wait while the move finished; the write did not happen
+			}
+		}
+		return writes;
+	}
+
+	private long count(String shard, String table, String like) {
+		String column = table.equals("employee") ? "id" : "name";
+		return jdbc(shard).queryForObject("SELECT COUNT(*) FROM " + table + " WHERE " + column + " LIKE ?", Long.class, like);
+	}
+
+	private JdbcTemplate jdbc(String shard) {
+		return new JdbcTemplate(shardDataSources.get(shard));
+	}
+
+	private static List<Employee> developers(String name, int count) {
+		return IntStream.range(0, count).mapToObj(i -> employee(name, "Developer", "M"))
+				.collect(Collectors.toList());
+	}
+
+	// Between copy chunks, so the writer gets in
+	private static void pause() {
+		try {
+			Thread.sleep(20);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}